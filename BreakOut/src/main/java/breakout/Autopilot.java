@@ -0,0 +1,53 @@
+package breakout;
+
+/**
+ * Moves the bat for the user, to where the first ball will come
+ *  down. The ball moves the same distance in X as in Y each tick,
+ *  so where it lands is found by unfolding its path off the side
+ *  walls, rather than stepping it forward, which costs the same
+ *  whatever the distance. Bricks in the way are not allowed for,
+ *  so the bat is steered again every tick.
+ */
+public class Autopilot
+{
+    /**
+     * Move the bat a step towards where the ball will land.
+     *  Called by the game thread with the model locked.
+     * @param model Model to play
+     */
+    public void steer( Model model )
+    {
+        GameObj ball = model.getBall();
+        GameObj bat  = model.getBat();
+        float land = landingX( ball.getX(), ball.getY(), ball.getDirX(), ball.getDirY(),
+                               bat.getY(), model.getWidth() );
+        float diff = land + Model.BALL_SIZE/2 - (bat.getX() + bat.getWidth()/2);
+        if ( Math.abs( diff ) < 1 ) return;           // Near enough
+        model.moveBat( diff > 0 ? 1 : -1, Math.min( Model.BAT_MOVE, Math.abs( diff ) ) );
+    }
+
+    /**
+     * Where the left side of the ball will be when it gets down
+     *  to the bat, bouncing off the side walls and the top
+     * @param x     Ball x
+     * @param y     Ball y
+     * @param dirX  Ball direction in X
+     * @param dirY  Ball direction in Y
+     * @param batY  Top of the bat
+     * @param width Width of the board
+     * @return x of the ball when it reaches the bat
+     */
+    public static float landingX( float x, float y, int dirX, int dirY,
+                                  float batY, float width )
+    {
+        float bottom = batY - Model.BALL_SIZE;         // Ball y on the bat
+        float down   = dirY > 0 ? bottom - y           // Distance still to go
+                                : (y - Model.M) + (bottom - Model.M);
+        float lo = Model.B, hi = width - Model.B - Model.BALL_SIZE;
+        float span = hi - lo;
+        if ( span <= 0 ) return lo;
+        float t = (x - lo + dirX * Math.max( down, 0 )) % (2 * span);  // Unfold
+        if ( t < 0 ) t += 2 * span;
+        return lo + ( t > span ? 2 * span - t : t );   // Fold back
+    }
+}
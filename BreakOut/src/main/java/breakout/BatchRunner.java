@@ -0,0 +1,120 @@
+package breakout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Play many independent games at once without a display or audio,
+ *  for bot evaluation and parameter sweeps.
+ *  Each game is a task on a work stealing pool, with one worker
+ *  per core, so the number of games done grows with the cores.
+ *  The bat is moved by the autopilot. The seed of a game sets
+ *  where the ball starts and which way it goes.
+ *  Usage: java breakout.BatchRunner [games] [threads] [maxTicks]
+ */
+public class BatchRunner
+{
+    private final int  threads;         // Workers in the pool
+    private final long maxTicks;        // Longest game allowed
+
+    /**
+     * @param threads  Workers in the pool
+     * @param maxTicks Ticks after which a game is given up
+     */
+    public BatchRunner( int threads, long maxTicks )
+    {
+        this.threads = threads; this.maxTicks = maxTicks;
+    }
+
+    /** Totals of a batch of games */
+    public static final class Result
+    {
+        public final int    games;
+        public final long   ticks;
+        public final long   score;     // Sum of final scores
+        public final double seconds;
+
+        Result( int games, long ticks, long score, double seconds )
+        {
+            this.games = games; this.ticks = ticks;
+            this.score = score; this.seconds = seconds;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format( "Games = %d Ticks = %d Mean score = %.1f Time = %.3fs " +
+                                  "Games/sec = %.1f Ticks/sec = %.0f",
+                                  games, ticks, (double) score / games, seconds,
+                                  games / seconds, ticks / seconds );
+        }
+    }
+
+    /**
+     * Play a batch of games, game i uses seed i
+     * @param games Number of games to play
+     * @return Totals
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public Result run( int games ) throws InterruptedException
+    {
+        List<Callable<long[]>> tasks = new ArrayList<>( games );
+        for ( int i = 0; i < games; i++ )
+        {
+            final long seed = i;
+            tasks.add( () -> play( seed ) );
+        }
+        ExecutorService pool = Executors.newWorkStealingPool( threads );
+        long start = System.nanoTime();
+        long ticks = 0, score = 0;
+        try
+        {
+            for ( Future<long[]> f : pool.invokeAll( tasks ) )
+            {
+                long[] r = f.get();
+                ticks += r[0]; score += r[1];
+            }
+        }
+        catch (java.util.concurrent.ExecutionException e)
+        {
+            throw new IllegalStateException( "Game failed", e.getCause() );
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        return new Result( games, ticks, score, (System.nanoTime() - start) / 1e9 );
+    }
+
+    /**
+     * Play one game to the end
+     * @param seed Seed of the game
+     * @return Ticks played and final score
+     */
+    private long[] play( long seed )
+    {
+        Model model = new Model( Main.W, Main.H );  // No sinks, so no Swing
+        model.setSeed( seed );
+        model.createGameObjects();
+        model.setAutopilot( true );
+        while ( ! model.isOver() && model.getTick() < maxTicks )
+            model.tick();
+        return new long[] { model.getTick(), model.getScore() };
+    }
+
+    public static void main( String args[] ) throws InterruptedException
+    {
+        int  games    = args.length > 0 ? Integer.parseInt( args[0] ) : 1000;
+        int  threads  = args.length > 1 ? Integer.parseInt( args[1] )
+                                        : Runtime.getRuntime().availableProcessors();
+        long maxTicks = args.length > 2 ? Long.parseLong( args[2] ) : 100_000;
+        Debug.set( false );              // No tracing, too slow
+        Metrics.setEnabled( false );     // Shared by all games
+
+        System.out.println( new BatchRunner( threads, maxTicks ).run( games ) );
+    }
+}
@@ -0,0 +1,266 @@
+package breakout;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * All the bricks of the game, held as parallel arrays of
+ *  primitives rather than one GameObj per brick, so that
+ *  scanning the bricks is cache friendly and allocates nothing.
+ * A brick is known by its index, 0 .. size()-1.
+ *  Which bricks are still alive is held in a bit set.
+ */
+public class BrickField
+{
+    private static final Colour[] COLOURS = Colour.values();
+
+    /** Most hit points a brick may have, they are held in a byte */
+    public static final int MAX_HITS = Byte.MAX_VALUE;
+
+    private int     size = 0;   // Bricks in field
+    private float[] x;          // Top left corner X
+    private float[] y;          // Top left corner Y
+    private float[] w;          // Width
+    private float[] h;          // Height
+    private byte[]  hits;       // Hit points left
+    private byte[]  colour;     // Colour ordinal
+    private long[]  alive;      // Bit set, 1 if brick alive
+
+    /**
+     * Create an empty field
+     * @param capacity Expected number of bricks
+     */
+    public BrickField( int capacity )
+    {
+        capacity = Math.max( capacity, 1 );
+        x = new float[capacity]; y = new float[capacity];
+        w = new float[capacity]; h = new float[capacity];
+        hits   = new byte[capacity];
+        colour = new byte[capacity];
+        alive  = new long[ (capacity + 63) >>> 6 ];
+    }
+
+    /**
+     * Add a live brick to the field
+     * @param bx co-ordinate of the brick
+     * @param by co-ordinate of the brick
+     * @param bw width of the brick
+     * @param bh height of the brick
+     * @param hitPoints Hits needed to destroy the brick, 1 .. MAX_HITS
+     * @param c Colour of the brick
+     * @return Index of the new brick
+     * @throws IllegalArgumentException If hitPoints is out of range
+     */
+    public int add( float bx, float by, float bw, float bh, int hitPoints, Colour c )
+    {
+        if ( hitPoints < 1 || hitPoints > MAX_HITS )
+            throw new IllegalArgumentException( "hits must be 1 to " + MAX_HITS );
+        if ( size == x.length ) grow();
+        int i = size++;
+        x[i] = bx; y[i] = by; w[i] = bw; h[i] = bh;
+        hits[i]   = (byte) hitPoints;
+        colour[i] = (byte) c.ordinal();
+        alive[i >>> 6] |= 1L << i;
+        return i;
+    }
+
+    /**
+     * Copy of the field for others to read while this one changes.
+     *  The position and size arrays are shared, as they never change
+     *  for a brick once added, only hit points, colour and alive are copied.
+     * @return Copy of the field, which must not be changed
+     */
+    public BrickField copy()
+    {
+        return new BrickField( this );
+    }
+
+    private BrickField( BrickField f )
+    {
+        size   = f.size;
+        x = f.x; y = f.y; w = f.w; h = f.h;
+        hits   = f.hits.clone();
+        colour = f.colour.clone();
+        alive  = f.alive.clone();
+    }
+
+    /**
+     * Write the bricks to a buffer, each array in turn
+     * @param b Buffer to write to
+     */
+    public void write( ByteBuffer b )
+    {
+        b.putInt( size );
+        for ( int i = 0; i < size; i++ ) b.putFloat( x[i] );
+        for ( int i = 0; i < size; i++ ) b.putFloat( y[i] );
+        for ( int i = 0; i < size; i++ ) b.putFloat( w[i] );
+        for ( int i = 0; i < size; i++ ) b.putFloat( h[i] );
+        b.put( hits, 0, size );
+        b.put( colour, 0, size );
+    }
+
+    /**
+     * Replace the bricks with those written by write().
+     *  Only if the bricks are in different places are new
+     *  arrays made, as copies may share the old ones.
+     * @param b Buffer to read from
+     * @return true if the bricks are in the same places as before
+     * @throws BufferUnderflowException If the bricks are cut short, the field
+     *         is then left as it was
+     */
+    public boolean read( ByteBuffer b )
+    {
+        if ( b.remaining() < 4 ) throw new BufferUnderflowException();
+        int n   = b.getInt( b.position() );
+        if ( n < 0 || b.remaining() - 4 < 18L * n )
+            throw new BufferUnderflowException();
+        b.getInt();
+        int at  = b.position();
+        boolean same = n == size;
+        for ( int i = 0; same && i < n; i++ )
+            same = x[i] == b.getFloat( at + 4*i )      && y[i] == b.getFloat( at + 4*(n+i) ) &&
+                   w[i] == b.getFloat( at + 4*(2*n+i) ) && h[i] == b.getFloat( at + 4*(3*n+i) );
+        if ( same )
+        {
+            b.position( at + 16*n );                   // Geometry as now
+        } else {
+            int cap = Math.max( n, 1 );
+            x = new float[cap]; y = new float[cap];
+            w = new float[cap]; h = new float[cap];
+            for ( int i = 0; i < n; i++ ) x[i] = b.getFloat();
+            for ( int i = 0; i < n; i++ ) y[i] = b.getFloat();
+            for ( int i = 0; i < n; i++ ) w[i] = b.getFloat();
+            for ( int i = 0; i < n; i++ ) h[i] = b.getFloat();
+            if ( hits.length < cap )
+            {
+                hits   = new byte[cap];
+                colour = new byte[cap];
+                alive  = new long[ (cap + 63) >>> 6 ];
+            }
+            size = n;
+        }
+        b.get( hits, 0, n );
+        b.get( colour, 0, n );
+        Arrays.fill( alive, 0 );
+        for ( int i = 0; i < n; i++ )
+            if ( hits[i] > 0 ) alive[i >>> 6] |= 1L << i;
+        return same;
+    }
+
+    private void grow()
+    {
+        int n = x.length * 2;
+        x = Arrays.copyOf( x, n ); y = Arrays.copyOf( y, n );
+        w = Arrays.copyOf( w, n ); h = Arrays.copyOf( h, n );
+        hits   = Arrays.copyOf( hits, n );
+        colour = Arrays.copyOf( colour, n );
+        alive  = Arrays.copyOf( alive, (n + 63) >>> 6 );
+    }
+
+    /**
+     * Number of bricks, alive or not
+     * @return Number of bricks
+     */
+    public int size()                 { return size; }
+
+    /**
+     * Number of bricks still alive
+     * @return Number of live bricks
+     */
+    public int countAlive()
+    {
+        int n = 0;
+        for ( long word : alive ) n += Long.bitCount( word );
+        return n;
+    }
+
+    public float getX( int i )        { return x[i]; }
+    public float getY( int i )        { return y[i]; }
+    public float getWidth( int i )    { return w[i]; }
+    public float getHeight( int i )   { return h[i]; }
+    public int   getHits( int i )     { return hits[i]; }
+    public Colour getColour( int i )  { return COLOURS[ colour[i] ]; }
+
+    /**
+     * Is the brick still in play
+     * @param i Index of brick
+     * @return true if alive
+     */
+    public boolean isAlive( int i )
+    {
+        return (alive[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Find the next live brick, use as
+     *  for ( int i = f.nextAlive(0); i >= 0; i = f.nextAlive(i+1) )
+     * @param from Index to start looking from
+     * @return Index of next live brick or -1 if none
+     */
+    public int nextAlive( int from )
+    {
+        if ( from >= size ) return -1;
+        int  word = from >>> 6;
+        long bits = alive[word] & (-1L << from);
+        while ( true )
+        {
+            if ( bits != 0 )
+            {
+                int i = (word << 6) + Long.numberOfTrailingZeros( bits );
+                return i < size ? i : -1;
+            }
+            if ( ++word == alive.length ) return -1;
+            bits = alive[word];
+        }
+    }
+
+    /**
+     * The brick has been hit, lose a hit point and turn red.
+     *  When out of hit points the brick is destroyed.
+     * @param i Index of brick
+     * @return true if the brick has now been destroyed
+     */
+    public boolean hit( int i )
+    {
+        hits[i]--;
+        colour[i] = (byte) Colour.RED.ordinal();
+        if ( hits[i] <= 0 )
+        {
+            alive[i >>> 6] &= ~(1L << i);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Detect a collision between a brick and a game object,
+     *  the same test as GameObj.hitBy
+     * @param i   Index of brick
+     * @param obj Game object to see if 'hit' by
+     * @return collision True/ False
+     */
+    public boolean hitBy( int i, GameObj obj )
+    {
+        return ! ( x[i] >= obj.getX()+obj.getWidth()   ||
+            x[i]+w[i] <= obj.getX()          ||
+            y[i] >= obj.getY()+obj.getHeight()  ||
+            y[i]+h[i] <= obj.getY() );
+    }
+
+    /**
+     * Swept collision of a moving game object with a brick,
+     *  the same test as GameObj.sweep
+     * @param i   Index of brick
+     * @param obj Game object moving
+     * @param dx  Distance to move in X
+     * @param dy  Distance to move in Y
+     * @param c   Set to the time and side of the hit
+     * @return collision True/ False
+     */
+    public boolean sweep( int i, GameObj obj, float dx, float dy, Contact c )
+    {
+        return GameObj.sweep( obj.getX(), obj.getY(), obj.getWidth(), obj.getHeight(),
+                              dx, dy, x[i], y[i], w[i], h[i], c );
+    }
+}
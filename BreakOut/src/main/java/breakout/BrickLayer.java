@@ -0,0 +1,122 @@
+package breakout;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * The part of the picture that rarely changes, the background
+ *  with the bricks drawn on it, kept in an image.
+ * The image is the size of the view, the board may be larger.
+ *  Only the bricks in view, found through a BrickTree, are drawn
+ *  or looked at, so the cost does not grow with the board.
+ * The layer keeps its own copy of the bricks and hits in it the
+ *  bricks each frame lists as hit, drawing again only the area of
+ *  each of those bricks. The whole image is only drawn again
+ *  when the bricks are replaced, for example in a new game, or
+ *  when the view moves across the board.
+ */
+public class BrickLayer
+{
+    private final BufferedImage image;     // Background and bricks
+    private final Graphics2D    g;         // Draws on image
+    private final Image         background;// Picture behind bricks
+    private final Rectangle2D.Float rect = new Rectangle2D.Float();
+    private BrickField copied = null;      // Frame's bricks last seen
+    private BrickField shown  = null;      // Own copy, with hits applied
+    private int applied = 0;               // Hits applied to shown
+    private BrickTree.Query inView = null; // Bricks in view
+    private int viewX = 0, viewY = 0;      // Part of board shown
+
+    /**
+     * @param image      Image to hold the layer, sized as the view
+     * @param background Picture behind the bricks, may be null
+     */
+    public BrickLayer( BufferedImage image, Image background )
+    {
+        this.image      = image;
+        this.background = background;
+        g = image.createGraphics();
+    }
+
+    /**
+     * The layer, to be copied to the screen
+     * @return Image of background and bricks
+     */
+    public BufferedImage getImage()
+    {
+        return image;
+    }
+
+    /**
+     * Bring the layer up to date with a frame, showing
+     *  the part of the board at (x,y) the size of the layer
+     * @param f     Frame to show
+     * @param x     Left of the part of the board shown
+     * @param y     Top of the part of the board shown
+     * @param dirty Areas of the layer that have changed are added
+     * @return true if all the layer was redrawn
+     */
+    public boolean update( Frame f, int x, int y, List<Rectangle> dirty )
+    {
+        boolean newBricks = f.getBricks() != copied;
+        if ( ! newBricks && f.getHitCount() == applied && x == viewX && y == viewY )
+            return false;                             // No change
+        if ( newBricks )                              // New game, level ...
+        {
+            copied  = f.getBricks();
+            shown   = copied.copy();
+            applied = 0;
+        }
+        if ( inView == null || ! inView.isFor( f.getTree() ) )
+            inView = f.getTree().newViewQuery();      // Built by the game
+        if ( newBricks || x != viewX || y != viewY )
+        {
+            for ( ; applied < f.getHitCount(); applied++ ) shown.hit( f.getHit( applied ) );
+            viewX = x; viewY = y;
+            int found = f.getTree().query( inView, x, y, image.getWidth(), image.getHeight() );
+            g.setClip( null );
+            drawBackground( 0, 0, image.getWidth(), image.getHeight() );
+            for ( int k = 0; k < found; k++ )
+                if ( shown.isAlive( inView.get(k) ) ) drawBrick( inView.get(k) );
+            return true;
+        }
+
+        for ( ; applied < f.getHitCount(); applied++ )
+        {
+            int i = f.getHit( applied );
+            shown.hit( i );
+            Rectangle r = new Rectangle(
+                (int) shown.getX(i) - viewX, (int) shown.getY(i) - viewY,
+                (int) Math.ceil( shown.getWidth(i) ) + 1,
+                (int) Math.ceil( shown.getHeight(i) ) + 1 );
+            if ( ! r.intersects( 0, 0, image.getWidth(), image.getHeight() ) )
+                continue;                             // Out of view
+            g.setClip( r );
+            drawBackground( r.x, r.y, r.width, r.height );
+            if ( shown.isAlive(i) ) drawBrick( i );
+            dirty.add( r );
+        }
+        g.setClip( null );
+        return false;
+    }
+
+    private void drawBackground( int x, int y, int w, int h )
+    {
+        g.setPaint( Color.WHITE );
+        g.fillRect( x, y, w, h );
+        if ( background != null ) g.drawImage( background, 0, 0, null );
+    }
+
+    private void drawBrick( int i )
+    {
+        g.setColor( shown.getColour(i).forSwing() );
+        rect.setRect( shown.getX(i) - viewX, shown.getY(i) - viewY,
+                      shown.getWidth(i), shown.getHeight(i) );
+        g.fill( rect );
+    }
+}
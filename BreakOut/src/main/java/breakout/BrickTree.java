@@ -0,0 +1,244 @@
+package breakout;
+
+import java.util.Arrays;
+
+/**
+ * Bounding volume hierarchy over the bricks, so that finding the
+ *  bricks in an area costs about the log of the number of bricks
+ *  plus the number found, however large the board.
+ * Each node holds the box around the bricks below it; a leaf holds
+ *  a few bricks. The tree is built by splitting the bricks at the
+ *  middle of the longer side, so it is balanced.
+ * Bricks never move, so the tree is built once. Each node counts
+ *  the live bricks below it, so that parts of the board that have
+ *  been cleared are not looked at again.
+ * Each thread querying the tree uses its own Query to hold the
+ *  result, so many threads may query while no brick is removed.
+ *  A view query ignores the live counts and finds every brick, so
+ *  the view may use the game's tree while the game removes bricks.
+ */
+public class BrickTree
+{
+    private static final int LEAF_SIZE = 4;   // Most bricks in a leaf
+
+    private final BrickField bricks;  // Bricks indexed, for live counts
+    private final BrickField shape;   // Copy, where the bricks are
+    private final int[]   order;      // Brick indices, a leaf has a run
+    private final float[] minX, minY, maxX, maxY; // Box of each node
+    private final int[]   left;       // First child or -1 if a leaf
+    private final int[]   right;      // Second child or -1
+    private final int[]   first;      // Leaf, first of its run in order
+    private final int[]   count;      // Leaf, bricks in its run
+    private final int[]   parent;     // -1 for the root
+    private final int[]   live;       // Live bricks below each node
+    private final int[]   leafOf;     // Leaf holding each brick
+    private int nodes = 0;            // Nodes used
+
+    /** Result of a query, and what is needed to make it */
+    public static final class Query
+    {
+        private final BrickTree tree;     // Tree queried
+        private final boolean   all;      // Find bricks, live or not
+        private int[] stack = new int[64];// Nodes still to look at
+        private int[] found = new int[16];// Result of last query
+
+        private Query( BrickTree tree, boolean all )
+        {
+            this.tree = tree; this.all = all;
+        }
+
+        /**
+         * Brick found by the last query
+         * @param k Which one, 0 .. query()-1
+         * @return Index of the brick
+         */
+        public int get( int k )
+        {
+            return found[k];
+        }
+
+        /**
+         * Can be used to query a tree
+         * @param t Tree
+         * @return true if made by the tree
+         */
+        public boolean isFor( BrickTree t )
+        {
+            return tree == t;
+        }
+    }
+
+    /**
+     * Build the tree
+     * @param bricks Bricks to index
+     */
+    public BrickTree( BrickField bricks )
+    {
+        this.bricks = bricks;
+        this.shape  = bricks.copy();             // Kept if bricks are replaced
+        int n   = bricks.size();
+        int max = Math.max( 1, 2 * ( (n + LEAF_SIZE - 1) / LEAF_SIZE ) * 2 );
+        order  = new int[n];
+        minX = new float[max]; minY = new float[max];
+        maxX = new float[max]; maxY = new float[max];
+        left  = new int[max];  right = new int[max];
+        first = new int[max];  count = new int[max];
+        parent = new int[max]; live  = new int[max];
+        leafOf = new int[n];
+        float[] key = new float[n];              // Centre, while building
+        for ( int i = 0; i < n; i++ ) order[i] = i;
+        build( 0, n, -1, key );
+        reset();
+    }
+
+    /**
+     * Make the node for the bricks in order[lo..hi)
+     * @return Index of the node
+     */
+    private int build( int lo, int hi, int up, float[] key )
+    {
+        int node = nodes++;
+        parent[node] = up;
+        float x0 = Float.MAX_VALUE, y0 = Float.MAX_VALUE;
+        float x1 = -Float.MAX_VALUE, y1 = -Float.MAX_VALUE;
+        for ( int k = lo; k < hi; k++ )
+        {
+            int b = order[k];
+            x0 = Math.min( x0, shape.getX(b) );
+            y0 = Math.min( y0, shape.getY(b) );
+            x1 = Math.max( x1, shape.getX(b) + shape.getWidth(b) );
+            y1 = Math.max( y1, shape.getY(b) + shape.getHeight(b) );
+        }
+        minX[node] = x0; minY[node] = y0; maxX[node] = x1; maxY[node] = y1;
+
+        if ( hi - lo <= LEAF_SIZE )
+        {
+            left[node] = right[node] = -1;
+            first[node] = lo; count[node] = hi - lo;
+            for ( int k = lo; k < hi; k++ ) leafOf[ order[k] ] = node;
+            return node;
+        }
+
+        boolean acrossX = x1 - x0 >= y1 - y0;  // Split the longer side
+        for ( int k = lo; k < hi; k++ )
+        {
+            int b = order[k];
+            key[k] = acrossX ? shape.getX(b) + shape.getWidth(b)/2
+                             : shape.getY(b) + shape.getHeight(b)/2;
+        }
+        int mid = (lo + hi) >>> 1;
+        select( lo, hi - 1, mid, key );
+        left[node]  = build( lo,  mid, node, key );
+        right[node] = build( mid, hi,  node, key );
+        return node;
+    }
+
+    /**
+     * Put order[lo..hi] in place so that the k-th has the k-th
+     *  smallest key, smaller before it and larger after
+     */
+    private void select( int lo, int hi, int k, float[] key )
+    {
+        while ( lo < hi )
+        {
+            float pivot = key[ (lo + hi) >>> 1 ];
+            int i = lo, j = hi;
+            while ( i <= j )
+            {
+                while ( key[i] < pivot ) i++;
+                while ( key[j] > pivot ) j--;
+                if ( i <= j )
+                {
+                    float tk = key[i]; key[i] = key[j]; key[j] = tk;
+                    int   to = order[i]; order[i] = order[j]; order[j] = to;
+                    i++; j--;
+                }
+            }
+            if ( k <= j )      hi = j;
+            else if ( k >= i ) lo = i;
+            else return;
+        }
+    }
+
+    /**
+     * Somewhere for one thread to hold the results of its queries
+     * @return New query
+     */
+    public Query newQuery()
+    {
+        return new Query( this, false );
+    }
+
+    /**
+     * Somewhere for a thread other than the game's to hold the
+     *  results of its queries. Finds every brick in an area, live
+     *  or not, as only what never changes in the tree is read.
+     * @return New query
+     */
+    public Query newViewQuery()
+    {
+        return new Query( this, true );
+    }
+
+    /**
+     * Find the bricks that overlap a rectangle, leaving out parts
+     *  of the tree with no live bricks. A brick found may still
+     *  need to be checked as alive, as leaves are not split.
+     * @param q Query, made by this tree, to hold the result
+     * @return Number of bricks found, fetch them with q.get()
+     */
+    public int query( Query q, float x, float y, float w, float h )
+    {
+        float x1 = x + w, y1 = y + h;
+        int[] stack = q.stack;
+        int[] found = q.found;
+        int top = 0, n = 0;
+        stack[top++] = 0;                      // Root
+        while ( top > 0 )
+        {
+            int node = stack[--top];
+            if ( ( live[node] == 0 && ! q.all ) || minX[node] > x1 || maxX[node] < x ||
+                 minY[node] > y1 || maxY[node] < y ) continue;
+            if ( left[node] < 0 )
+            {
+                for ( int k = first[node]; k < first[node] + count[node]; k++ )
+                {
+                    int b = order[k];
+                    if ( shape.getX(b) > x1 || shape.getX(b) + shape.getWidth(b)  < x ||
+                         shape.getY(b) > y1 || shape.getY(b) + shape.getHeight(b) < y )
+                        continue;
+                    if ( n == found.length ) found = q.found = Arrays.copyOf( found, n*2 );
+                    found[n++] = b;
+                }
+            } else {
+                if ( top + 2 > stack.length ) stack = q.stack = Arrays.copyOf( stack, top*2 );
+                stack[top++] = right[node];
+                stack[top++] = left[node];
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Take a destroyed brick out of the counts of live bricks
+     * @param brick Brick to remove
+     */
+    public void remove( int brick )
+    {
+        for ( int node = leafOf[brick]; node >= 0; node = parent[node] )
+            live[node]--;
+    }
+
+    /**
+     * Count again the live bricks below each node, after the
+     *  hit points of the bricks have been changed.
+     *  Allocates nothing, so a game can be reset cheaply.
+     */
+    public void reset()
+    {
+        Arrays.fill( live, 0, Math.max( nodes, 1 ), 0 );
+        for ( int b = bricks.nextAlive(0); b >= 0; b = bricks.nextAlive(b+1) )
+            for ( int node = leafOf[b]; node >= 0; node = parent[node] )
+                live[node]++;
+    }
+}
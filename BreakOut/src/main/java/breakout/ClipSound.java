@@ -0,0 +1,182 @@
+package breakout;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Play the sounds of the game through javax.sound Clips
+ *  Each sound effect is read from disk and decoded once, when
+ *  the ClipSound is created, into a small pool of open Clips.
+ *  playSound only queues the request, a separate thread starts
+ *  the Clip, so the game thread never waits on the audio system.
+ *  If every Clip of a sound is busy the one started longest ago
+ *  is stopped and reused.
+ */
+public class ClipSound implements SoundSink
+{
+    private static final int VOICES = 4;    // Clips per sound
+    private static final int QUEUED = 32;   // Requests waiting
+
+    private final Map<String,Voices> sounds = new HashMap<>();
+    private final BlockingQueue<Voices> requests = new ArrayBlockingQueue<>( QUEUED );
+    private MusicPlayer music = null;       // Background music
+
+    /**
+     * Load the sound effects and start the thread that plays them
+     * @param soundNames Names of the sound files to be used
+     */
+    public ClipSound( String... soundNames )
+    {
+        for ( String name : soundNames )
+        {
+            try
+            {
+                sounds.put( name, new Voices( name ) );
+            }
+            catch(Exception ex)
+            {
+                Debug.error( "ClipSound: Can not load %s\n%s", name, ex.getMessage() );
+            }
+        }
+        Thread t = new Thread( this::runAsSeparateThread, "ClipSound" );
+        t.setDaemon(true);   // So may die when program exits
+        t.start();
+    }
+
+    /**
+     * Queue a sound to be played, never waits.
+     *  Unknown sounds, or requests when the queue is full, are dropped.
+     * @param soundName Name of the sound file
+     */
+    public void playSound(String soundName)
+    {
+        Voices v = sounds.get( soundName );
+        if ( v != null ) requests.offer( v );
+    }
+
+    /**
+     * Was a sound loaded, it will not be if there is no audio device
+     * @param soundName Name of the sound file
+     * @return true if playSound will queue it
+     */
+    public boolean hasSound(String soundName)
+    {
+        return sounds.containsKey( soundName );
+    }
+
+    /**
+     * Drop the sounds queued but not yet started
+     */
+    public void clearQueued()
+    {
+        requests.clear();
+    }
+
+    /**
+     * Start or resume the background music, never waits.
+     *  Only one piece of music plays at a time.
+     * @param soundName Name of the sound file
+     */
+    public synchronized void playMusic(String soundName)
+    {
+        if ( music != null && ! music.getSoundName().equals( soundName ) )
+        {
+            music.stop();
+            music = null;
+        }
+        if ( music == null ) music = new MusicPlayer( soundName );
+        music.resume();
+    }
+
+    /**
+     * Pause the background music
+     */
+    public synchronized void pauseMusic()
+    {
+        if ( music != null ) music.pause();
+    }
+
+    /**
+     * Release all the Clips and stop the music
+     */
+    public synchronized void close()
+    {
+        if ( music != null ) music.stop();
+        for ( Voices v : sounds.values() ) v.close();
+    }
+
+    /**
+     * Start the Clips asked for by playSound
+     */
+    private void runAsSeparateThread()
+    {
+        while ( true )
+        {
+            try
+            {
+                requests.take().play();
+                Metrics.soundPlayed();
+            }
+            catch (InterruptedException e)
+            {
+                return;
+            }
+            catch (Exception e)
+            {
+                Debug.error( "ClipSound: Error with playing sound\n%s", e.getMessage() );
+            }
+        }
+    }
+
+    /**
+     * The pool of Clips for one sound, all holding the same
+     *  decoded audio. Only used by the ClipSound thread.
+     */
+    private static class Voices
+    {
+        private final Clip[] clips = new Clip[VOICES];
+        private int next = 0;            // Clip to use next
+
+        Voices( String soundName ) throws Exception
+        {
+            byte[]      data;
+            AudioFormat format;
+            try ( AudioInputStream in =
+                      AudioSystem.getAudioInputStream( new File(soundName).getAbsoluteFile() ) )
+            {
+                format = in.getFormat();
+                data   = in.readAllBytes();
+            }
+            for ( int i = 0; i < VOICES; i++ )
+            {
+                clips[i] = AudioSystem.getClip();
+                clips[i].open( format, data, 0, data.length );
+            }
+        }
+
+        /**
+         * Play on the next Clip, round robin so when all are
+         *  busy the one started longest ago is stolen
+         */
+        void play()
+        {
+            Clip clip = clips[next];
+            next = (next + 1) % VOICES;
+            clip.stop();
+            clip.setFramePosition( 0 );
+            clip.start();
+        }
+
+        void close()
+        {
+            for ( Clip c : clips ) c.close();
+        }
+    }
+}
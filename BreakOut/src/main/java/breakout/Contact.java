@@ -0,0 +1,22 @@
+package breakout;
+
+/**
+ * Where a moving game object first touches another, as found
+ *  by GameObj.sweep. Reused from tick to tick so as not to
+ *  create garbage.
+ */
+public class Contact
+{
+    public float time;    // Fraction of the move, 0 .. 1, when touched
+    public int normalX;   // Side hit, -1 left, +1 right, 0 top/bottom
+    public int normalY;   // Side hit, -1 top, +1 bottom, 0 left/right
+
+    /**
+     * Was the side hit the left or right of the object
+     * @return true if the moving object should change X direction
+     */
+    public boolean isSide()
+    {
+        return normalX != 0;
+    }
+}
@@ -1,3 +1,5 @@
+package breakout;
+
 import java.awt.event.KeyEvent;
 /**
  * BreakOut controller, handles user interactions
@@ -24,24 +26,25 @@ public class Controller
      */
     public void userKeyInteraction(int keyCode )
     {
+        Metrics.inputReceived();         // For input to screen time
         // Key typed includes specials, -ve
         // Char is ASCII value
         switch ( keyCode )               // Character is
         {
             case -KeyEvent.VK_LEFT:        // Left Arrow
-            model.moveBat( -1);
+            model.getInput().keyDown( Input.LEFT );
             break;
 
             case -KeyEvent.VK_RIGHT:       // Right arrow
-            model.moveBat( +1 );
+            model.getInput().keyDown( Input.RIGHT );
             break;
 
             case 'f' :             // Very fast ball movement now
-            model.setFast( true );
+            model.getInput().command( Input.Command.FAST );
             break;
 
             case 'n' :            // Normal speed
-            model.setFast( false );
+            model.getInput().command( Input.Command.NORMAL );
             break;
 
             case -KeyEvent.VK_SPACE:
@@ -52,7 +55,18 @@ public class Controller
                 model.startGame();
             break;
 
+            case 'a' :            // Autopilot on or off
+            model.getInput().command( Input.Command.AUTOPILOT );
+            break;
+
+            case 'm' :            // Twice as many balls
+            model.getInput().command( Input.Command.MORE_BALLS );
+            break;
+
             case 'r':             //new game
+            model.getInput().command( Input.Command.RESET ); // Next tick
+            button_press = 1;
+            model.startGame();
             break;
 
             default :
@@ -60,4 +74,23 @@ public class Controller
         }
     }
 
+    /**
+     * A key has been released, only matters for keys that are held
+     * Called from the interaction code in the view
+     * @param keyCode The key released, -ve
+     */
+    public void userKeyReleased(int keyCode )
+    {
+        switch ( keyCode )
+        {
+            case -KeyEvent.VK_LEFT:        // Left Arrow
+            model.getInput().keyUp( Input.LEFT );
+            break;
+
+            case -KeyEvent.VK_RIGHT:       // Right arrow
+            model.getInput().keyUp( Input.RIGHT );
+            break;
+        }
+    }
+
 }
@@ -1,12 +1,15 @@
+package breakout;
+
 /**
  * Print information about the running program
+ *  Messages go through Log, so are printed by a background thread.
  * @author Mike Smith University of Brighton
  * @version 1.0
  */
 
 public class Debug
 {
-  private static boolean debug = true;
+  static { set( true ); }
 
   /**
    * Set true/false to print debugging information
@@ -15,9 +18,8 @@ public class Debug
    */
   public static synchronized boolean set( boolean state )
   {
-    boolean oldState = debug;
-    debug = state;
-    return oldState;
+    Log.Level old = Log.setLevel( state ? Log.Level.DEBUG : Log.Level.INFO );
+    return old == Log.Level.DEBUG;
   }
 
   /**
@@ -27,14 +29,7 @@ public class Debug
    */
   public static void trace(String fmt, Object... params )
   {
-    if ( debug )
-    {
-      synchronized( Debug.class )
-      {
-        System.out.printf( fmt, params );
-        System.out.println();
-      }
-    }
+    Log.log( Log.Level.DEBUG, fmt, params );
   }
 
   /**
@@ -56,10 +51,9 @@ public class Debug
    * @param fmt The same as printf etc
    * @param params The parameters to fmt
    */
-  public static synchronized void error(String fmt, Object... params )
+  public static void error(String fmt, Object... params )
   {
-    System.out.printf( "ERROR: " + fmt, params );
-    System.out.println();
+    Log.log( Log.Level.ERROR, fmt, params );
   }
 
 }
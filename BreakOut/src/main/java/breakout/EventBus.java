@@ -0,0 +1,115 @@
+package breakout;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carries game events from the game thread to any number of
+ *  listeners, each of which runs on its own thread.
+ * The events are held in a ring of preallocated arrays, written
+ *  only by the game thread, so publishing never allocates, locks
+ *  or waits. Each listener works through the ring at its own pace.
+ *  If the slowest listener is a whole ring behind, new events are
+ *  dropped and counted rather than holding up the game.
+ * Listeners should be added before the game starts.
+ */
+public class EventBus
+{
+    private static final int SIZE = 1024;     // Events held, power of 2
+    private static final int MASK = SIZE - 1;
+    private static final long IDLE_NANOS = 1_000_000; // Listener sleep
+
+    private final GameEvent[] events = new GameEvent[SIZE];
+    private final long[]      as     = new long[SIZE];
+    private final long[]      bs     = new long[SIZE];
+    private final AtomicLong  published = new AtomicLong();  // Events written
+    private volatile Consumer[] consumers = new Consumer[0];
+    private long gate = 0;                    // Slowest consumer, cached
+    private long dropped = 0;                 // Events lost, ring full
+
+    /** A listener and how far through the ring it is */
+    private final class Consumer
+    {
+        final EventListener listener;
+        volatile long seq;                    // Next event to handle
+
+        Consumer( EventListener listener, long seq )
+        {
+            this.listener = listener; this.seq = seq;
+        }
+
+        void runAsSeparateThread()
+        {
+            while ( true )
+            {
+                long upTo = published.get();
+                if ( seq == upTo )
+                {
+                    LockSupport.parkNanos( IDLE_NANOS );
+                    continue;
+                }
+                for ( long s = seq; s < upTo; s++ )
+                {
+                    int i = (int) s & MASK;
+                    try
+                    {
+                        listener.onEvent( events[i], as[i], bs[i] );
+                    }
+                    catch (RuntimeException e)
+                    {
+                        Debug.error( "EventBus: listener failed\n%s", e.getMessage() );
+                    }
+                }
+                seq = upTo;                   // Slots free for reuse
+            }
+        }
+    }
+
+    /**
+     * Add a listener, with its own daemon thread.
+     *  It is told of events published from now on.
+     * @param name     Name of the thread
+     * @param listener Listener to add
+     */
+    public synchronized void subscribe( String name, EventListener listener )
+    {
+        Consumer c = new Consumer( listener, published.get() );
+        Consumer[] now = java.util.Arrays.copyOf( consumers, consumers.length + 1 );
+        now[ now.length - 1 ] = c;
+        consumers = now;
+        Thread t = new Thread( c::runAsSeparateThread, name );
+        t.setDaemon(true);   // So may die when program exits
+        t.start();
+    }
+
+    /**
+     * Publish an event, only to be called by the game thread
+     * @param event What happened
+     * @param a     First number of the event
+     * @param b     Second number of the event
+     */
+    public void publish( GameEvent event, long a, long b )
+    {
+        Consumer[] cs = consumers;
+        if ( cs.length == 0 ) return;         // No one listening
+        long next = published.get();
+        if ( next - gate >= SIZE )            // May be full, look again
+        {
+            gate = Long.MAX_VALUE;
+            for ( Consumer c : cs ) gate = Math.min( gate, c.seq );
+            if ( next - gate >= SIZE ) { dropped++; return; }
+        }
+        int i = (int) next & MASK;
+        events[i] = event; as[i] = a; bs[i] = b;
+        published.lazySet( next + 1 );        // Publish
+    }
+
+    /**
+     * Events lost because a listener was too far behind
+     * @return Number lost
+     */
+    public long getDropped()
+    {
+        return dropped;
+    }
+}
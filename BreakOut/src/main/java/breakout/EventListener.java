@@ -0,0 +1,15 @@
+package breakout;
+
+/**
+ * Told of game events by an EventBus, on the bus's thread for it
+ */
+public interface EventListener
+{
+    /**
+     * An event has happened
+     * @param event What happened
+     * @param a     First number of the event
+     * @param b     Second number of the event
+     */
+    void onEvent( GameEvent event, long a, long b );
+}
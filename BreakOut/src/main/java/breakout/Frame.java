@@ -0,0 +1,59 @@
+package breakout;
+
+/**
+ * What is needed to draw one frame of the game, copied from
+ *  the model at the end of a tick. Never changed once made,
+ *  so may be read by the view without any lock while the
+ *  model carries on with the next tick.
+ * The bricks are a copy made when they were last replaced, with
+ *  the bricks hit since then, so a hit does not copy every brick.
+ */
+public final class Frame
+{
+    private final GameObj    ball;        // Copy of the first ball
+    private final float[]    ballXY;      // x,y of every ball
+    private final GameObj    bat;         // Copy of the bat
+    private final BrickField bricks;      // Copy when last replaced
+    private final int[]      hits;        // Bricks hit since, shared
+    private final int        hitCount;    // Used in hits
+    private final BrickTree  tree;        // Where the bricks are
+    private final int        score;
+    private final int        lives;
+    private final int        bricksLeft;
+    private final float      width;       // Size of board
+    private final float      height;
+
+    /**
+     * Make a frame, the objects passed must not be changed later,
+     *  though hits may be added to past hitCount
+     */
+    public Frame( GameObj ball, float[] ballXY, GameObj bat, BrickField bricks,
+                  int[] hits, int hitCount, BrickTree tree, int score, int lives,
+                  int bricksLeft, float width, float height )
+    {
+        this.ball   = ball;   this.ballXY = ballXY;
+        this.bat    = bat;    this.bricks = bricks;
+        this.hits   = hits;   this.hitCount = hitCount;
+        this.tree   = tree;
+        this.score  = score;  this.lives = lives;
+        this.bricksLeft = bricksLeft;
+        this.width  = width;  this.height = height;
+    }
+
+    public GameObj    getBall()       { return ball; }
+    public int        getBallCount()  { return ballXY.length / 2; }
+    public float      getBallX( int i ) { return ballXY[2*i]; }
+    public float      getBallY( int i ) { return ballXY[2*i+1]; }
+    public GameObj    getBat()        { return bat; }
+    public BrickField getBricks()     { return bricks; }
+    /** Bricks hit since getBricks() was copied, 0 .. getHitCount()-1 */
+    public int        getHit( int k ) { return hits[k]; }
+    public int        getHitCount()   { return hitCount; }
+    /** The game's tree, only to be used with a view query */
+    public BrickTree  getTree()       { return tree; }
+    public int        getScore()      { return score; }
+    public int        getLives()      { return lives; }
+    public int        getBricksLeft() { return bricksLeft; }
+    public float      getWidth()      { return width; }
+    public float      getHeight()     { return height; }
+}
@@ -0,0 +1,27 @@
+package breakout;
+
+/**
+ * Things that happen in the game that others may want to know of,
+ *  see EventBus. Each event carries two numbers, see the comments.
+ */
+public enum GameEvent
+{
+    BRICK_HIT      ( "Brick HIT",           "BrickHit.wav"  ), // brick, score
+    BRICK_DESTROYED( "Brick destroyed",     null            ), // brick, bricks left
+    BAT_HIT        ( "Bat HIT",             "BatHit.wav"    ), // 0, 0
+    BOTTOM_HIT     ( "Model: Bottom HIT, Lives: %d", "BottomHit.wav" ), // lives, score
+    GAME_OVER      ( "GAME OVER",           "GameOver.wav"  ), // score, 0
+    WON            ( "You have won!",       null            ), // score, 0
+    NEW_LEVEL      ( "Level %d",            null            ); // level, score
+
+    private final String message;       // For the log, may use first number
+    private final String soundName;     // Sound to play or null
+
+    GameEvent( String message, String soundName )
+    {
+        this.message = message; this.soundName = soundName;
+    }
+
+    public String getMessage()   { return message; }
+    public String getSoundName() { return soundName; }
+}
@@ -0,0 +1,141 @@
+package breakout;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed timestep game loop, run in its own thread.
+ *  Time is measured with System.nanoTime and collected in an
+ *  accumulator, one tick is run for each whole tick period.
+ *  If the loop falls behind at most maxCatchUp ticks are run
+ *  before the backlog is dropped, so the game never races to catch up.
+ *  Waits by parking until close to the next tick, then spins
+ *  for the last part so that tick jitter stays small.
+ *  When paused the thread parks until resumed, so one thread
+ *  serves for the whole of the program.
+ */
+public class GameLoop
+{
+    private static final long SPIN_NANOS = 200_000; // Spin last 0.2ms
+
+    private final Runnable tick;           // One step of the game
+    private final int      maxCatchUp;     // Most ticks run at once
+    private volatile long  tickNanos;      // Length of a tick
+    private volatile boolean running = true;
+    private volatile boolean paused  = false;
+    private volatile Thread  thread;       // Running the loop
+
+    /**
+     * @param tick       What to run each tick
+     * @param ticksPerSec Ticks per second
+     * @param maxCatchUp Most ticks to run back to back when behind
+     */
+    public GameLoop( Runnable tick, int ticksPerSec, int maxCatchUp )
+    {
+        this.tick       = tick;
+        this.maxCatchUp = maxCatchUp;
+        setTickRate( ticksPerSec );
+    }
+
+    /**
+     * Change the number of ticks per second, takes effect next tick
+     * @param ticksPerSec Ticks per second
+     */
+    public void setTickRate( int ticksPerSec )
+    {
+        tickNanos = 1_000_000_000L / ticksPerSec;
+    }
+
+    /**
+     * Stop the loop, the thread will then die
+     */
+    public void stop()
+    {
+        running = false;
+        LockSupport.unpark( thread );
+    }
+
+    /**
+     * Stop running ticks until resumed, the thread waits
+     */
+    public void pause()
+    {
+        paused = true;
+    }
+
+    /**
+     * Start running ticks again after a pause
+     */
+    public void resume()
+    {
+        paused = false;
+        LockSupport.unpark( thread );
+    }
+
+    /**
+     * Start the loop in a new daemon thread
+     * @param name Name of the thread
+     */
+    public void start( String name )
+    {
+        Thread t = new Thread( this::run, name );
+        t.setDaemon(true);   // So may die when program exits
+        thread = t;
+        t.start();
+    }
+
+    /**
+     * The loop itself, runs until stop() is called
+     */
+    public void run()
+    {
+        try
+        {
+            long accumulator = 0;
+            long last = System.nanoTime();
+            while ( running )
+            {
+                if ( paused )
+                {
+                    LockSupport.park( this );
+                    accumulator = 0;              // Time paused not owed
+                    last = System.nanoTime();
+                    continue;
+                }
+                long now = System.nanoTime();
+                accumulator += now - last;
+                last = now;
+
+                long period = tickNanos;
+                int  steps  = 0;
+                while ( accumulator >= period && running && ! paused )
+                {
+                    tick.run();
+                    accumulator -= period;
+                    if ( ++steps >= maxCatchUp )
+                    {
+                        accumulator %= period;   // Too far behind, drop rest
+                        break;
+                    }
+                }
+
+                waitNanos( period - accumulator - (System.nanoTime() - last) );
+            }
+        } catch (Exception e) 
+        { 
+            Debug.error("GameLoop.run - Error\n%s", e.getMessage() );
+        }
+    }
+
+    /**
+     * Wait for about the given time, park for most of it then spin
+     * @param nanos Time to wait
+     */
+    private void waitNanos( long nanos )
+    {
+        long end = System.nanoTime() + nanos;
+        if ( nanos > SPIN_NANOS )
+            LockSupport.parkNanos( nanos - SPIN_NANOS );
+        while ( running && ! paused && System.nanoTime() - end < 0 )
+            Thread.onSpinWait();
+    }
+}
@@ -1,3 +1,5 @@
+package breakout;
+
 /**
  * An Object in the game, represented as a rectangle.
  *  Which holds details of shape, plus possible direction of travel.
@@ -15,7 +17,6 @@ public class GameObj
     private Colour colour;       // Colour of object
     private int   dirX   = 1;    // Direction X (1 or -1)
     private int   dirY   = 1;    // Direction Y (1 or -1)
-    private int bricksLive = 2;
 
     /** 
      * Constructor for a game object (x,y width, height, colour)
@@ -32,25 +33,20 @@ public class GameObj
         width  = widthIs; height = heightIs; 
         colour = c;
     }
-    
-    public void brickHit()
+
+    /**
+     * Copy of a game object, including its direction of travel
+     * @param obj Game object to copy
+     */
+    public GameObj( GameObj obj )
     {
-        bricksLive --;
-        colour = Colour.RED;
-        
-        
-        if (bricksLive <= 0)
-            setVisibility(false);
-            
-        
-            
-        
+        canSee = obj.canSee;
+        topX   = obj.topX;     topY   = obj.topY;
+        width  = obj.width;    height = obj.height;
+        colour = obj.colour;
+        dirX   = obj.dirX;     dirY   = obj.dirY;
     }
     
-    public int getbricksLive() {
-        return bricksLive;
-    }
-
     /**
      * Set the game object visibility
      * @param state is visible true or false
@@ -123,6 +119,26 @@ public class GameObj
         topY += units * dirY;
     }
 
+    /**
+     * Put the game object at a position
+     * @param x co-ordinate of the top left corner
+     * @param y co-ordinate of the top left corner
+     */
+    public void setPosition( float x, float y )
+    {
+        topX = x; topY = y;
+    }
+
+    /**
+     * Set the direction of future moves
+     * @param dx Direction X (1 or -1)
+     * @param dy Direction Y (1 or -1)
+     */
+    public void setDirection( int dx, int dy )
+    {
+        dirX = dx; dirY = dy;
+    }
+
     /**
      * Change direction of future moves in the X direction 
      */
@@ -139,9 +155,73 @@ public class GameObj
         dirY = -dirY;
     }
 
+    /**
+     * Direction of travel in X
+     * @return 1 or -1
+     */
+    public int getDirX()      { return dirX; }
+
+    /**
+     * Direction of travel in Y
+     * @return 1 or -1
+     */
+    public int getDirY()      { return dirY; }
+
+    /**
+     * Detect when this object, if moved by (dx,dy), would first
+     *  touch obj, and which side of obj it would touch.
+     *  Unlike hitBy a fast object can not jump over a thin one.
+     *  @param obj Game object that may be hit
+     *  @param dx  Distance to move in X
+     *  @param dy  Distance to move in Y
+     *  @param c   Set to the time and side of the hit
+     *  @return collision True/ False
+     */
+    public boolean sweep( GameObj obj, float dx, float dy, Contact c )
+    {
+        return sweep( topX, topY, width, height, dx, dy,
+                      obj.topX, obj.topY, obj.width, obj.height, c );
+    }
+
+    /**
+     * Swept collision of a moving rectangle with a still one.
+     *  Objects already overlapping at the start are not reported,
+     *  so an object leaving another is not caught by it.
+     *  @param c Set to the time and side of the hit
+     *  @return collision True/ False
+     */
+    public static boolean sweep( float x,  float y,  float w,  float h,
+                                 float dx, float dy,
+                                 float ox, float oy, float ow, float oh,
+                                 Contact c )
+    {
+        // Time each axis starts and stops overlapping
+        float xEntry, xExit, yEntry, yExit;
+        if ( dx > 0 )      { xEntry = (ox - (x+w)) / dx;  xExit = (ox+ow - x) / dx; }
+        else if ( dx < 0 ) { xEntry = (ox+ow - x) / dx;   xExit = (ox - (x+w)) / dx; }
+        else if ( x < ox+ow && x+w > ox )
+                           { xEntry = Float.NEGATIVE_INFINITY; xExit = Float.POSITIVE_INFINITY; }
+        else return false;
+
+        if ( dy > 0 )      { yEntry = (oy - (y+h)) / dy;  yExit = (oy+oh - y) / dy; }
+        else if ( dy < 0 ) { yEntry = (oy+oh - y) / dy;   yExit = (oy - (y+h)) / dy; }
+        else if ( y < oy+oh && y+h > oy )
+                           { yEntry = Float.NEGATIVE_INFINITY; yExit = Float.POSITIVE_INFINITY; }
+        else return false;
+
+        float entry = Math.max( xEntry, yEntry );
+        float exit  = Math.min( xExit, yExit );
+        if ( entry >= exit || entry < 0 || entry > 1 ) return false;
+
+        c.time = entry;
+        if ( xEntry > yEntry ) { c.normalX = dx > 0 ? -1 : 1; c.normalY = 0; }
+        else                   { c.normalY = dy > 0 ? -1 : 1; c.normalX = 0; }
+        return true;
+    }
+
     /**
      * Detect a collision between two GameObjects 
-     *  Would be good to know where the object is hit
+     *  See sweep to know where the object is hit
      *  @param obj Game object to see if 'hit' by 
      *  @return collision True/ False
      */
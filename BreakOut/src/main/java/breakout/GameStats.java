@@ -0,0 +1,44 @@
+package breakout;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts of what has happened in the game, kept by listening to
+ *  the game events. Also passes collisions on to Metrics.
+ */
+public class GameStats implements EventListener
+{
+    private final LongAdder[] counts = new LongAdder[ GameEvent.values().length ];
+
+    public GameStats()
+    {
+        for ( int i = 0; i < counts.length; i++ ) counts[i] = new LongAdder();
+    }
+
+    @Override
+    public void onEvent( GameEvent event, long a, long b )
+    {
+        counts[ event.ordinal() ].increment();
+        if ( event == GameEvent.BRICK_HIT || event == GameEvent.BAT_HIT )
+            Metrics.collision();
+    }
+
+    /**
+     * How many times an event has happened
+     * @param event Event
+     * @return Number of times
+     */
+    public long getCount( GameEvent event )
+    {
+        return counts[ event.ordinal() ].sum();
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        for ( GameEvent e : GameEvent.values() )
+            sb.append( e ).append( '=' ).append( getCount( e ) ).append( ' ' );
+        return sb.toString().trim();
+    }
+}
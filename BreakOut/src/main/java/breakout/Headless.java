@@ -0,0 +1,37 @@
+package breakout;
+
+/**
+ * Run the game without a display or audio, as fast as possible.
+ *  Used for regression simulations and tuning sweeps.
+ *  Usage: java Headless [ticks]
+ *  When a game finishes a new one is started until
+ *   the number of ticks has been run.
+ */
+public class Headless
+{
+  public static void main( String args[] )
+  {
+    long ticks = args.length > 0 ? Long.parseLong( args[0] ) : 10_000_000L;
+    Debug.set( false );              // No tracing, too slow
+    Metrics.setEnabled( false );     // No timing, too slow
+
+    Model model = new Model(Main.W, Main.H); // No sinks, so no Swing
+    model.createGameObjects();
+
+    long games = 1;
+    long start = System.nanoTime();
+    for ( long i = 0; i < ticks; i++ )
+    {
+      model.tick();
+      if ( model.isOver() )
+      {
+        model.reset();               // Start another game, no garbage
+        games++;
+      }
+    }
+    double secs = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf( "Ticks = %d Games = %d Time = %.3fs Ticks/sec = %.0f%n",
+                       ticks, games, secs, ticks / secs );
+  }
+}
@@ -0,0 +1,116 @@
+package breakout;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of times in nanoseconds, in the style of HdrHistogram.
+ *  Values are counted in buckets, 16 buckets for each power of two,
+ *  so any percentile is within about 6% of the real value, and
+ *  recording a value never allocates or takes a lock.
+ * May be recorded to from many threads at once.
+ */
+public class Histogram implements HistogramMBean
+{
+    private static final int SUB_BITS = 5;              // Bits kept of each value
+    private static final int SUB      = 1 << SUB_BITS;  // Exact below this
+    private static final int HALF     = SUB / 2;        // Buckets per power of two
+    private static final int BUCKETS  = (64 - SUB_BITS + 1) * HALF;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray( BUCKETS );
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max   = new AtomicLong();
+
+    /**
+     * @param name Name of what is measured
+     */
+    public Histogram( String name )
+    {
+        this.name = name;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Record a value
+     * @param nanos Time in nanoseconds, negative values count as 0
+     */
+    public void record( long nanos )
+    {
+        if ( nanos < 0 ) nanos = 0;
+        counts.incrementAndGet( index( nanos ) );
+        count.incrementAndGet();
+        total.addAndGet( nanos );
+        long m;
+        while ( nanos > (m = max.get()) && ! max.compareAndSet( m, nanos ) ) { }
+    }
+
+    private static int index( long v )
+    {
+        if ( v < SUB ) return (int) v;
+        int e = 63 - Long.numberOfLeadingZeros( v );    // Power of two
+        return (e - (SUB_BITS - 1)) * HALF + (int) (v >>> (e - (SUB_BITS - 1)));
+    }
+
+    private static long lowest( int i )
+    {
+        if ( i < SUB ) return i;
+        int e = i / HALF + SUB_BITS - 2;
+        return (long) (i % HALF + HALF) << (e - (SUB_BITS - 1));
+    }
+
+    /**
+     * Value below which the given fraction of values fall
+     * @param fraction 0.0 to 1.0, 0.99 for the 99th percentile
+     * @return Value, at the low end of its bucket
+     */
+    public long percentile( double fraction )
+    {
+        long n = count.get();
+        if ( n == 0 ) return 0;
+        long want = Math.max( 1, (long) Math.ceil( fraction * n ) );
+        long seen = 0;
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            seen += counts.get( i );
+            if ( seen >= want ) return Math.min( lowest( i ), max.get() );
+        }
+        return max.get();
+    }
+
+    public long   getCount() { return count.get(); }
+    public long   getP50()   { return percentile( 0.50 ); }
+    public long   getP99()   { return percentile( 0.99 ); }
+    public long   getP999()  { return percentile( 0.999 ); }
+    public long   getMax()   { return max.get(); }
+    public double getMean()
+    {
+        long n = count.get();
+        return n == 0 ? 0 : (double) total.get() / n;
+    }
+
+    /**
+     * Forget all values recorded
+     */
+    public void reset()
+    {
+        for ( int i = 0; i < BUCKETS; i++ ) counts.set( i, 0 );
+        count.set( 0 ); total.set( 0 ); max.set( 0 );
+    }
+
+    /**
+     * One line summary, times in microseconds
+     */
+    @Override
+    public String toString()
+    {
+        return String.format( "%-14s n=%-9d p50=%9.1f p99=%9.1f p99.9=%9.1f max=%9.1f us",
+                              name, getCount(), getP50()/1e3, getP99()/1e3,
+                              getP999()/1e3, getMax()/1e3 );
+    }
+}
@@ -0,0 +1,15 @@
+package breakout;
+
+/**
+ * What a Histogram shows through JMX, all times in nanoseconds
+ */
+public interface HistogramMBean
+{
+    long   getCount();
+    long   getP50();
+    long   getP99();
+    long   getP999();
+    long   getMax();
+    double getMean();
+    void   reset();
+}
@@ -0,0 +1,113 @@
+package breakout;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+/**
+ * The status line shown over the game, kept as an image.
+ *  The text is only formatted and drawn into the image when the
+ *  score or lives change, or when the frames per second shown is
+ *  brought up to date, a few times a second. Otherwise showing it
+ *  is just a copy of the image.
+ * The font is monospaced so the line is always the same width,
+ *  and so always in the same place.
+ */
+public class Hud
+{
+    private static final String FORMAT    = "BreakOut: Score = [%6d] fps=%5.1f   LIVES = [%2d] ";
+    private static final long   FPS_NANOS = 500_000_000L;  // fps shown every
+
+    private final BufferedImage image;       // Text, on clear background
+    private final Graphics2D    g;           // Draws on image
+    private final Rectangle     bounds;      // Where shown in the picture
+    private final int           ascent;      // Base line in image
+
+    private int    score = Integer.MIN_VALUE;// Shown in image
+    private int    lives = Integer.MIN_VALUE;
+    private double fps   = 0;
+    private int    frames = 0;               // Since fps worked out
+    private long   since  = System.nanoTime();
+
+    /**
+     * @param width Width of the picture, the line is centred in it
+     */
+    public Hud( int width )
+    {
+        BufferedImage probe = new BufferedImage( 1, 1, BufferedImage.TYPE_INT_ARGB );
+        Graphics2D pg = probe.createGraphics();
+        FontMetrics fm = pg.getFontMetrics( Picture.HUD_FONT );
+        int w = fm.stringWidth( String.format( FORMAT, 0, 0.0, 0 ) ) + 1;
+        int h = fm.getHeight();
+        ascent = fm.getAscent();
+        pg.dispose();
+
+        bounds = new Rectangle( width/2 - w/2, Picture.HUD_Y - ascent, w, h );
+        image  = new BufferedImage( w, h, BufferedImage.TYPE_INT_ARGB );
+        g      = image.createGraphics();
+        g.setFont( Picture.HUD_FONT );
+    }
+
+    /**
+     * Count a frame shown, for the frames per second
+     */
+    public void countFrame()
+    {
+        frames++;
+    }
+
+    /**
+     * Bring the image up to date with a frame, only drawing
+     *  the text again if what it shows has changed
+     * @param f Frame being drawn
+     * @return true if the image has changed
+     */
+    public boolean update( Frame f )
+    {
+        boolean changed = false;
+        long now = System.nanoTime();
+        if ( now - since >= FPS_NANOS )
+        {
+            fps    = frames * 1e9 / (now - since);
+            frames = 0; since = now;
+            changed = true;
+        }
+        if ( f.getScore() != score || f.getLives() != lives )
+        {
+            score = f.getScore(); lives = f.getLives();
+            changed = true;
+        }
+        if ( changed ) render();
+        return changed;
+    }
+
+    private void render()
+    {
+        g.setComposite( AlphaComposite.Clear );
+        g.fillRect( 0, 0, image.getWidth(), image.getHeight() );
+        g.setComposite( AlphaComposite.SrcOver );
+        g.setPaint( Color.white );
+        g.drawString( String.format( FORMAT, score, fps, lives ), 0, ascent );
+    }
+
+    /**
+     * Draw the status line
+     * @param gc Graphics context of the picture
+     */
+    public void draw( Graphics2D gc )
+    {
+        gc.drawImage( image, bounds.x, bounds.y, null );
+    }
+
+    /**
+     * Where the line is shown, never changes
+     * @return Area of the picture
+     */
+    public Rectangle getBounds()
+    {
+        return bounds;
+    }
+}
@@ -0,0 +1,152 @@
+package breakout;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Input from the user, collected on the event thread and applied
+ *  by the game thread once per tick, so the model is only ever
+ *  changed by the game thread.
+ * Which keys are held down is kept as bits in an atomic int, other
+ *  commands wait in a lock free queue. While a bat key is held the
+ *  bat speeds up to a steady speed, so how fast it moves does not
+ *  depend on the key repeat rate of the machine.
+ * A Hook sees the input used by each tick, so that it can be
+ *  recorded, or can supply it instead when replaying a game.
+ */
+public class Input
+{
+    /** Keys that are held down */
+    public static final int LEFT  = 1;
+    public static final int RIGHT = 2;
+
+    /** Commands that take effect at the next tick, new ones go at the end
+     *  as recordings hold the ordinal */
+    public enum Command { FAST, NORMAL, MORE_BALLS, AUTOPILOT, RESET }
+
+    /** Sees, and may replace, the input of each tick */
+    public interface Hook
+    {
+        /**
+         * A command is being applied this tick
+         * @param model Model being changed
+         * @param c     Command
+         */
+        void command( Model model, Command c );
+
+        /**
+         * The keys to use this tick
+         * @param model Model being changed
+         * @param held  Keys held down by the user
+         * @return Keys to use
+         */
+        int keys( Model model, int held );
+    }
+
+    private static final float BAT_ACCEL = 2;    // Speed gained each tick
+    private static final float BAT_MAX   = 8;    // Steady speed, per tick
+
+    private final AtomicInteger held = new AtomicInteger(); // Bits of keys held
+    private final Queue<Command> commands = new ConcurrentLinkedQueue<>();
+    private float batSpeed = 0;                  // Only used by game thread
+    private volatile Hook hook = null;           // Recorder or replayer
+
+    /**
+     * A key has been pressed, repeats are harmless
+     * @param key LEFT or RIGHT
+     */
+    public void keyDown( int key )
+    {
+        held.getAndAccumulate( key, (bits, k) -> bits | k );
+    }
+
+    /**
+     * A key has been released
+     * @param key LEFT or RIGHT
+     */
+    public void keyUp( int key )
+    {
+        held.getAndAccumulate( key, (bits, k) -> bits & ~k );
+    }
+
+    /**
+     * Keys now held down
+     * @return Bits of LEFT and RIGHT
+     */
+    public int getHeld()
+    {
+        return held.get();
+    }
+
+    /**
+     * Speed the bat is moving at, part of the state of a game
+     * @return Distance moved last tick
+     */
+    public float getBatSpeed()
+    {
+        return batSpeed;
+    }
+
+    /**
+     * Set the speed the bat is moving at, when restoring a game
+     * @param speed Distance moved last tick
+     */
+    public void setBatSpeed( float speed )
+    {
+        batSpeed = speed;
+    }
+
+    /**
+     * Set who sees the input of each tick
+     * @param hook Hook to use, or null for none
+     */
+    public void setHook( Hook hook )
+    {
+        this.hook = hook;
+    }
+
+    /**
+     * Queue a command for the next tick
+     * @param c Command
+     */
+    public void command( Command c )
+    {
+        commands.offer( c );
+    }
+
+    /**
+     * Apply the input to the model, called by the game thread
+     *  at the start of each tick with the model locked
+     * @param model Model to change
+     */
+    public void apply( Model model )
+    {
+        Hook h = hook;
+        Command c;
+        while ( (c = commands.poll()) != null )
+        {
+            if ( h != null ) h.command( model, c );
+            switch ( c )
+            {
+                case FAST:   model.setFast( true );  break;
+                case NORMAL: model.setFast( false ); break;
+                case MORE_BALLS: model.addBalls( model.getBallCount() ); break;
+                case AUTOPILOT:  model.setAutopilot( ! model.isAutopilot() ); break;
+                case RESET:      model.reset(); break;
+            }
+        }
+
+        int keys = held.get();
+        if ( h != null ) keys = h.keys( model, keys );
+        int direction = (keys & RIGHT) != 0 ? 1 : 0;
+        if ( (keys & LEFT) != 0 ) direction -= 1;
+        if ( direction == 0 )
+        {
+            batSpeed = 0;                        // Stop at once
+            return;
+        }
+        batSpeed = Math.min( BAT_MAX, batSpeed + BAT_ACCEL );
+        model.moveBat( direction, batSpeed );
+    }
+}
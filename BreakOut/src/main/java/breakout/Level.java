@@ -0,0 +1,23 @@
+package breakout;
+
+/**
+ * A level ready to play, its bricks and the tree over them
+ */
+public final class Level
+{
+    private final int        number;   // From 1
+    private final String     name;
+    private final BrickField bricks;
+    private final BrickTree  tree;
+
+    public Level( int number, String name, BrickField bricks, BrickTree tree )
+    {
+        this.number = number; this.name = name;
+        this.bricks = bricks; this.tree = tree;
+    }
+
+    public int        getNumber() { return number; }
+    public String     getName()   { return name; }
+    public BrickField getBricks() { return bricks; }
+    public BrickTree  getTree()   { return tree; }
+}
@@ -0,0 +1,107 @@
+package breakout;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Hands out the levels of a pack in turn. While one level is
+ *  played the next is made on a background thread, so moving
+ *  on to it does not hold up the game.
+ */
+public class LevelLoader
+{
+    private final LevelPack pack;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor( r ->
+    {
+        Thread t = new Thread( r, "LevelLoader" );
+        t.setDaemon(true);   // So may die when program exits
+        return t;
+    } );
+    private int next = 0;                      // Level to hand out next
+    private CompletableFuture<Level> ready;    // Being made, or null
+
+    /**
+     * @param pack Levels to play
+     */
+    public LevelLoader( LevelPack pack )
+    {
+        this( pack, 0 );
+    }
+
+    /**
+     * @param pack  Levels to play
+     * @param first Level to hand out first, from 0
+     */
+    public LevelLoader( LevelPack pack, int first )
+    {
+        this.pack = pack;
+        startAt( first );
+    }
+
+    /**
+     * Hand out levels again from the one given, as when a
+     *  recorded game is played again
+     * @param first Level to hand out next, from 0
+     */
+    public synchronized void startAt( int first )
+    {
+        next = first;
+        prefetch();
+    }
+
+    /**
+     * The levels being handed out
+     * @return Level pack
+     */
+    public LevelPack getPack()
+    {
+        return pack;
+    }
+
+    /**
+     * Level next() will give
+     * @return Level from 0, size of the pack if none left
+     */
+    public synchronized int getNext()
+    {
+        return next;
+    }
+
+    /**
+     * Are there more levels
+     * @return true if next() will give one
+     */
+    public synchronized boolean hasNext()
+    {
+        return next < pack.size();
+    }
+
+    /**
+     * The next level, made in the background if there was time,
+     *  then start making the one after
+     * @return Level
+     */
+    public synchronized Level next()
+    {
+        Level level = ready.join();            // Only waits if not made yet
+        next++;
+        prefetch();
+        Log.debug( "Level %d ready", level.getNumber() );
+        return level;
+    }
+
+    private void prefetch()
+    {
+        if ( next >= pack.size() ) { ready = null; return; }
+        final int n = next;
+        ready = CompletableFuture.supplyAsync( () -> build( n ), worker );
+    }
+
+    private Level build( int n )
+    {
+        BrickField bricks = pack.bricks( n );
+        BrickTree  tree   = new BrickTree( bricks );
+        return new Level( n + 1, pack.getName( n ), bricks, tree );
+    }
+}
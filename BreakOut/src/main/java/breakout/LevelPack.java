@@ -0,0 +1,202 @@
+package breakout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of levels read from a text file. Each level starts with
+ *  a level line and has a brick line for each brick:
+ *  <pre>
+ *  # Comment
+ *  board width height        (optional, before the first level)
+ *  level The wall
+ *  brick x y width height hits COLOUR
+ *  </pre>
+ * Every line is checked as the file is read, so a bad pack is
+ *  found at once. The BrickField of a level is only made when
+ *  asked for, so that a LevelLoader can do it in the background.
+ */
+public class LevelPack
+{
+    private final String       file;                          // For errors
+    private final String       text;                          // As read
+    private final List<String>  names  = new ArrayList<>();    // Of each level
+    private final List<List<Brick>> levels = new ArrayList<>(); // Bricks of each
+    private int width = 0, height = 0;                        // Of the board
+
+    /** One brick line, as read */
+    private static final class Brick
+    {
+        final float  x, y, w, h;
+        final int    hits;
+        final Colour colour;
+
+        Brick( float x, float y, float w, float h, int hits, Colour colour )
+        {
+            this.x = x; this.y = y; this.w = w; this.h = h;
+            this.hits = hits; this.colour = colour;
+        }
+    }
+
+    private LevelPack( String file, List<String> lines )
+    {
+        this.file = file; this.text = String.join( "\n", lines );
+        int level = -1;                          // Line of level being read
+        for ( int i = 0; i < lines.size(); i++ )
+        {
+            String line = lines.get(i).trim();
+            if ( line.isEmpty() || line.startsWith( "#" ) ) continue;
+            String[] f = line.split( "\\s+" );
+            switch ( f[0] )
+            {
+                case "level":
+                    noBricks( level );
+                    level = i;
+                    names.add( line.substring( 5 ).trim() );
+                    levels.add( new ArrayList<>() );
+                    break;
+                case "brick":
+                    if ( names.isEmpty() ) throw error( i, "brick before first level" );
+                    levels.get( levels.size() - 1 ).add( brick( i, f ) );
+                    break;
+                case "board":
+                    try
+                    {
+                        width  = Integer.parseInt( f[1] );
+                        height = Integer.parseInt( f[2] );
+                    }
+                    catch (RuntimeException e)   // Missing or bad number
+                    {
+                        throw error( i, "expected board width height" );
+                    }
+                    break;
+                default:
+                    throw error( i, "expected level, brick or board" );
+            }
+        }
+        if ( names.isEmpty() ) throw error( 0, "no levels" );
+        noBricks( level );
+    }
+
+    /**
+     * A level with no bricks would be won as soon as it started
+     * @param line Line of the level just read, -1 if none
+     */
+    private void noBricks( int line )
+    {
+        if ( line >= 0 && levels.get( levels.size() - 1 ).isEmpty() )
+            throw error( line, "level has no bricks" );
+    }
+
+    private Brick brick( int i, String[] f )
+    {
+        if ( f.length != 7 )
+            throw error( i, "expected brick x y width height hits COLOUR" );
+        Brick k;
+        try
+        {
+            k = new Brick( Float.parseFloat( f[1] ), Float.parseFloat( f[2] ),
+                           Float.parseFloat( f[3] ), Float.parseFloat( f[4] ),
+                           Integer.parseInt( f[5] ), Colour.valueOf( f[6] ) );
+        }
+        catch (IllegalArgumentException e)       // Includes bad numbers
+        {
+            throw error( i, e.getMessage() );
+        }
+        if ( k.hits < 1 || k.hits > BrickField.MAX_HITS )   // Held in a byte
+            throw error( i, "hits must be 1 to " + BrickField.MAX_HITS );
+        return k;
+    }
+
+    /**
+     * Read a level pack
+     * @param path File to read
+     * @return The levels
+     * @throws IOException If the file can not be read
+     */
+    public static LevelPack load( Path path ) throws IOException
+    {
+        return new LevelPack( path.toString(), Files.readAllLines( path ) );
+    }
+
+    /**
+     * Read a level pack from text, as given by getText()
+     * @param name Name for errors
+     * @param text Text of the pack
+     * @return The levels
+     * @throws IllegalArgumentException If a line is not understood
+     */
+    public static LevelPack parse( String name, String text )
+    {
+        return new LevelPack( name, text.lines().toList() );
+    }
+
+    /**
+     * The text the pack was read from, so a recording can hold it
+     * @return Text of the pack
+     */
+    public String getText()
+    {
+        return text;
+    }
+
+    /**
+     * Number of levels in the pack
+     * @return Levels
+     */
+    public int size()
+    {
+        return names.size();
+    }
+
+    /**
+     * Size of the board the levels are played on
+     * @return Width, or 0 if not given
+     */
+    public int getWidth()
+    {
+        return width;
+    }
+
+    /**
+     * Size of the board the levels are played on
+     * @return Height, or 0 if not given
+     */
+    public int getHeight()
+    {
+        return height;
+    }
+
+    /**
+     * Name of a level
+     * @param level Level 0 .. size()-1
+     * @return Name
+     */
+    public String getName( int level )
+    {
+        return names.get( level );
+    }
+
+    /**
+     * Make the bricks of a level, the pack has been checked
+     *  so this can not fail
+     * @param level Level 0 .. size()-1
+     * @return New bricks
+     */
+    public BrickField bricks( int level )
+    {
+        List<Brick> list = levels.get( level );
+        BrickField bricks = new BrickField( list.size() );
+        for ( Brick k : list )
+            bricks.add( k.x, k.y, k.w, k.h, k.hits, k.colour );
+        return bricks;
+    }
+
+    private IllegalArgumentException error( int line, String msg )
+    {
+        return new IllegalArgumentException( file + ":" + (line + 1) + ": " + msg );
+    }
+}
@@ -0,0 +1,205 @@
+package breakout;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Logging that is cheap enough to leave in the game loop.
+ *  The level is checked before anything else is done, so a message
+ *  that is not wanted costs one volatile read. A wanted message is
+ *  put, unformatted, into a ring buffer of preallocated entries
+ *  and a background thread does the formatting and printing.
+ * Up to two long or double arguments are held without boxing,
+ *  a Supplier can be used to build any other message only when
+ *  it is wanted. If the buffer is full the message is dropped
+ *  and counted rather than waiting.
+ */
+public final class Log
+{
+    /** Levels of message, most important first */
+    public enum Level { ERROR, INFO, DEBUG }
+
+    private static final int  SIZE = 1024;            // Entries, power of 2
+    private static final int  MASK = SIZE - 1;
+    private static final int  NONE = 0, LONG = 1, DOUBLE = 2, SUPPLIER = 3, ARRAY = 4;
+
+    private static final Entry[]    ring    = new Entry[SIZE];
+    private static final AtomicLong head    = new AtomicLong(); // Next to claim
+    private static final AtomicLong dropped = new AtomicLong(); // Buffer full
+    private static volatile long    tail    = 0;                // Next to print
+    private static volatile int     level   = Level.INFO.ordinal();
+    private static volatile PrintStream out = System.out;
+    private static final Thread     writer;
+
+    /** One message waiting to be printed */
+    private static final class Entry
+    {
+        volatile long seq = -1;       // Sequence number once filled in
+        Level  level;
+        String fmt;
+        int    kind1, kind2;          // What the arguments are
+        long   arg1,  arg2;           // Raw bits of the arguments
+        Object ref;                   // Supplier or Object[]
+    }
+
+    static
+    {
+        for ( int i = 0; i < SIZE; i++ ) ring[i] = new Entry();
+        writer = new Thread( Log::runAsSeparateThread, "Log" );
+        writer.setDaemon(true);   // So may die when program exits
+        writer.start();
+        Runtime.getRuntime().addShutdownHook( new Thread( Log::flush ) );
+    }
+
+    private Log() { }
+
+    /**
+     * Set the most detailed level of message to print
+     * @param l Level
+     * @return The old level
+     */
+    public static Level setLevel( Level l )
+    {
+        Level old = Level.values()[ level ];
+        level = l.ordinal();
+        return old;
+    }
+
+    /**
+     * Is a message at this level wanted
+     * @param l Level
+     * @return true if it will be printed
+     */
+    public static boolean isEnabled( Level l )
+    {
+        return l.ordinal() <= level;
+    }
+
+    /**
+     * Print to somewhere other than System.out
+     * @param stream Where to print
+     */
+    public static void setOut( PrintStream stream )
+    {
+        out = stream;
+    }
+
+    /**
+     * Messages lost because the buffer was full
+     * @return Number lost
+     */
+    public static long getDropped()
+    {
+        return dropped.get();
+    }
+
+    public static void debug( String fmt )                  { log( Level.DEBUG, fmt, NONE, 0, NONE, 0, null ); }
+    public static void debug( String fmt, long a )          { log( Level.DEBUG, fmt, LONG, a, NONE, 0, null ); }
+    public static void debug( String fmt, double a )
+    { log( Level.DEBUG, fmt, DOUBLE, Double.doubleToRawLongBits( a ), NONE, 0, null ); }
+    public static void debug( String fmt, long a, long b )  { log( Level.DEBUG, fmt, LONG, a, LONG, b, null ); }
+    public static void debug( Supplier<String> message )    { log( Level.DEBUG, null, SUPPLIER, 0, NONE, 0, message ); }
+
+    public static void info( String fmt )                   { log( Level.INFO, fmt, NONE, 0, NONE, 0, null ); }
+    public static void info( String fmt, long a )           { log( Level.INFO, fmt, LONG, a, NONE, 0, null ); }
+
+    /**
+     * Log a message with any arguments, as printf.
+     *  The caller allocates the array, so not for the game loop.
+     * @param l      Level of message
+     * @param fmt    The same as printf etc
+     * @param params The parameters to fmt
+     */
+    public static void log( Level l, String fmt, Object... params )
+    {
+        log( l, fmt, ARRAY, 0, NONE, 0, params );
+    }
+
+    private static void log( Level l, String fmt, int kind1, long arg1,
+                             int kind2, long arg2, Object ref )
+    {
+        if ( l.ordinal() > level ) return;              // Not wanted
+        long seq;
+        do
+        {
+            seq = head.get();
+            if ( seq - tail >= SIZE ) { dropped.incrementAndGet(); return; }
+        } while ( ! head.compareAndSet( seq, seq + 1 ) );
+
+        Entry e = ring[ (int) seq & MASK ];
+        e.level = l;  e.fmt = fmt;  e.ref = ref;
+        e.kind1 = kind1;  e.arg1 = arg1;
+        e.kind2 = kind2;  e.arg2 = arg2;
+        e.seq   = seq;                                  // Publish
+    }
+
+    /**
+     * Print all messages logged so far, called on exit
+     */
+    public static synchronized void flush()
+    {
+        drain();
+        if ( dropped.get() > 0 )
+            out.println( "Log: " + dropped.get() + " messages dropped, buffer full" );
+        out.flush();
+    }
+
+    private static void runAsSeparateThread()
+    {
+        while ( true )
+        {
+            if ( ! drain() )
+                LockSupport.parkNanos( 1_000_000 );
+        }
+    }
+
+    /**
+     * Print the messages waiting
+     * @return true if any printed
+     */
+    private static synchronized boolean drain()
+    {
+        boolean any = false;
+        while ( true )
+        {
+            long  seq = tail;
+            Entry e   = ring[ (int) seq & MASK ];
+            if ( e.seq != seq ) return any;             // Not filled in yet
+            String text = format( e );
+            e.ref = null;                               // Let go of garbage
+            tail  = seq + 1;                            // Slot free for reuse
+            out.println( text );
+            any = true;
+        }
+    }
+
+    private static String format( Entry e )
+    {
+        try
+        {
+            String prefix = e.level == Level.ERROR ? "ERROR: " : "";
+            switch ( e.kind1 )
+            {
+                case SUPPLIER: return prefix + ((Supplier<?>) e.ref).get();
+                case ARRAY:    return prefix + String.format( e.fmt, (Object[]) e.ref );
+                case NONE:     return prefix + e.fmt;
+                default:
+                    if ( e.kind2 == NONE )
+                        return prefix + String.format( e.fmt, arg( e.kind1, e.arg1 ) );
+                    return prefix + String.format( e.fmt, arg( e.kind1, e.arg1 ),
+                                                   arg( e.kind2, e.arg2 ) );
+            }
+        }
+        catch (RuntimeException ex)
+        {
+            return "ERROR: Log format " + e.fmt + " " + ex;
+        }
+    }
+
+    private static Object arg( int kind, long bits )
+    {
+        return kind == DOUBLE ? (Object) Double.longBitsToDouble( bits ) : (Object) bits;
+    }
+}
@@ -0,0 +1,102 @@
+package breakout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Start the game
+ *  The call to startGame() in the model starts 
+ *    the actual play of the game
+ *  Note: Many issues of mutual exclusion on shared variables
+ *        are ignored.
+ * @author Mike Smith University of Brighton
+ */
+public class Main
+{
+  public static final int H = 800; // Height of window
+  public static final int W = 600; // Width of window
+
+  /**
+   * @param args -active to draw with page flipping from a render thread
+   *             -record file to record the game for a Replayer
+   */
+  public static void main( String args[] )
+  {
+    boolean active = false;
+    String  record = null;
+    for ( int i = 0; i < args.length; i++ )
+    {
+      if ( args[i].equals( "-active" ) ) active = true;
+      if ( args[i].equals( "-record" ) && i + 1 < args.length ) record = args[++i];
+    }
+    Debug.trace("BreakOut");
+    Debug.set( true );              // Set true to get debug info
+    Metrics.publish();              // Timings through JMX
+
+    Path pack = Path.of( "levels.txt" );
+    LevelPack levels = null;
+    if ( Files.exists( pack ) )      // Levels from the level pack
+    {
+      try
+      {
+        levels = LevelPack.load( pack );
+      }
+      catch ( IOException | IllegalArgumentException e )
+      {
+        Debug.error( "Main: level pack not used\n%s", e.getMessage() );
+      }
+    }
+    int boardW = levels != null && levels.getWidth()  > 0 ? levels.getWidth()  : W;
+    int boardH = levels != null && levels.getHeight() > 0 ? levels.getHeight() : H;
+
+    Model model = new Model(boardW,boardH); // model of the Game, may be
+                                     //  larger than the window
+    View  view  = new View(W,H,active); // View of the Game
+                  new Controller( model, view );
+                          
+    model.setSeed( System.nanoTime() );
+    if ( levels != null )
+    {
+      try
+      {
+        LevelLoader loader = new LevelLoader( levels );
+        model.createGameObjects( loader.next() );
+        model.setLevels( loader );
+      }
+      catch ( RuntimeException e )   // First level could not be made
+      {
+        Debug.error( "Main: level pack not used\n%s", e.getMessage() );
+        levels = null;
+      }
+    }
+    if ( levels == null )
+      model.createGameObjects();     // Ball, Bat & Bricks
+    if ( record != null )
+    {
+      Recorder recorder = new Recorder( model, Path.of( record ), 100 );
+      Runtime.getRuntime().addShutdownHook( new Thread( recorder::close ) );
+    }
+    RenderScheduler frames = active
+        ? new RenderScheduler( view, RenderScheduler.displayRate( 60 ), Runnable::run )
+        : new RenderScheduler( view, RenderScheduler.displayRate( 60 ) );
+    model.setRenderSink( frames );   // View redrawn at frame rate
+    frames.start();
+    ClipSound sound = new ClipSound( "BrickHit.wav", "BatHit.wav",
+                                     "BottomHit.wav", "GameOver.wav" );
+    model.setSoundSink( sound );     // Sounds of the game
+    Runtime.getRuntime().addShutdownHook( new Thread( sound::close ) );
+    GameStats stats = new GameStats();
+    model.getEvents().subscribe( "Model.Log",                // Log of play
+        (e, x, y) -> Log.debug( e.getMessage(), x ) );
+    model.getEvents().subscribe( "Model.Stats", stats );     // Counts
+    Runtime.getRuntime().addShutdownHook( new Thread( () ->
+    {
+      Log.info( "Events: " + stats + " dropped=%d", model.getEvents().getDropped() );
+      Log.flush();                   // Log's own hook may have run first
+    } ) );
+
+    view.setVisible(true);           // Make visible
+    model.startGame();               // Start playing the game
+  }
+}
@@ -0,0 +1,173 @@
+package breakout;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Measurements of how the game is running, kept for the whole program.
+ *  Times are kept in histograms, see Histogram, and are published
+ *  through JMX under the domain "breakout" so they can be watched
+ *  with jconsole. If the system property breakout.metrics is set to
+ *  a file name, a summary is written to that file on exit.
+ * Recording is cheap but not free, so may be turned off, for example
+ *  when running headless as fast as possible.
+ */
+public final class Metrics implements MetricsMBean
+{
+    public static final Histogram TICK           = new Histogram( "tick" );
+    public static final Histogram LOCK_WAIT      = new Histogram( "lockWait" );
+    public static final Histogram RENDER         = new Histogram( "render" );
+    public static final Histogram FRAME_INTERVAL = new Histogram( "frameInterval" );
+    public static final Histogram INPUT_LATENCY  = new Histogram( "inputLatency" );
+
+    private static final Metrics    COUNTERS      = new Metrics();
+    private static final LongAdder  collisions    = new LongAdder();
+    private static final LongAdder  soundsPlayed  = new LongAdder();
+    private static final LongAdder  droppedFrames = new LongAdder();
+    private static final AtomicLong inputTime     = new AtomicLong(); // Key not yet shown
+    private static final AtomicLong lastFrame     = new AtomicLong();
+
+    private static volatile boolean enabled = true;
+
+    private Metrics() { }
+
+    /**
+     * Turn recording on or off
+     * @param state true to record
+     * @return The old state
+     */
+    public static boolean setEnabled( boolean state )
+    {
+        boolean old = enabled;
+        enabled = state;
+        return old;
+    }
+
+    /**
+     * Is recording on
+     * @return true if recording
+     */
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Time now, or 0 when not recording so callers can skip the clock
+     * @return System.nanoTime() or 0
+     */
+    public static long now()
+    {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record the time from start until now
+     * @param h     Histogram to record in
+     * @param start Time from now(), nothing recorded if 0
+     * @return Time now, or 0 if not recorded
+     */
+    public static long since( Histogram h, long start )
+    {
+        if ( start == 0 ) return 0;
+        long t = System.nanoTime();
+        h.record( t - start );
+        return t;
+    }
+
+    public static void collision()    { if ( enabled ) collisions.increment(); }
+    public static void soundPlayed()  { if ( enabled ) soundsPlayed.increment(); }
+    public static void droppedFrame() { if ( enabled ) droppedFrames.increment(); }
+
+    /**
+     * A key has been pressed, the time is kept until it is shown
+     */
+    public static void inputReceived()
+    {
+        if ( enabled ) inputTime.compareAndSet( 0, System.nanoTime() );
+    }
+
+    /**
+     * A frame has been put on the screen
+     * @param start When drawing of the frame started, from now()
+     */
+    public static void frameShown( long start )
+    {
+        long t = since( RENDER, start );
+        if ( t == 0 ) return;
+        long last = lastFrame.getAndSet( t );
+        if ( last != 0 ) FRAME_INTERVAL.record( t - last );
+        long key = inputTime.getAndSet( 0 );
+        if ( key != 0 ) INPUT_LATENCY.record( t - key );
+    }
+
+    public long getCollisions()    { return collisions.sum(); }
+    public long getSoundsPlayed()  { return soundsPlayed.sum(); }
+    public long getDroppedFrames() { return droppedFrames.sum(); }
+
+    public void reset()
+    {
+        collisions.reset(); soundsPlayed.reset(); droppedFrames.reset();
+        for ( Histogram h : histograms() ) h.reset();
+    }
+
+    private static Histogram[] histograms()
+    {
+        return new Histogram[] { TICK, LOCK_WAIT, RENDER, FRAME_INTERVAL, INPUT_LATENCY };
+    }
+
+    /**
+     * Publish the metrics through JMX, and arrange for the summary
+     *  to be written on exit if asked for. Call once at start up.
+     */
+    public static void publish()
+    {
+        try
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean( COUNTERS, new ObjectName( "breakout:type=Metrics" ) );
+            for ( Histogram h : histograms() )
+                server.registerMBean( h, new ObjectName( "breakout:type=Histogram,name=" + h.getName() ) );
+        }
+        catch (Exception e)
+        {
+            Debug.error( "Metrics: Can not register MBeans\n%s", e.getMessage() );
+        }
+
+        String file = System.getProperty( "breakout.metrics" );
+        if ( file != null )
+            Runtime.getRuntime().addShutdownHook( new Thread( () -> dump( file ) ) );
+    }
+
+    /**
+     * Summary of all the metrics, one line each
+     * @return Summary text
+     */
+    public static String summary()
+    {
+        StringBuilder sb = new StringBuilder();
+        for ( Histogram h : histograms() ) sb.append( h ).append( '\n' );
+        sb.append( String.format( "collisions=%d soundsPlayed=%d droppedFrames=%d%n",
+                                  COUNTERS.getCollisions(), COUNTERS.getSoundsPlayed(),
+                                  COUNTERS.getDroppedFrames() ) );
+        return sb.toString();
+    }
+
+    private static void dump( String file )
+    {
+        try ( PrintWriter out = new PrintWriter( new FileWriter( file ) ) )
+        {
+            out.print( summary() );
+        }
+        catch (IOException e)
+        {
+            Debug.error( "Metrics: Can not write %s\n%s", file, e.getMessage() );
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package breakout;
+
+/**
+ * Counters the game shows through JMX
+ */
+public interface MetricsMBean
+{
+    long getCollisions();
+    long getSoundsPlayed();
+    long getDroppedFrames();
+    void reset();
+}
@@ -0,0 +1,913 @@
+package breakout;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Model of the game of breakout
+ *  Has no knowledge of Swing or audio, sound and screen updates
+ *  go to the sinks, so tick() can be driven without a display.
+ *  Each model has its own lock and no static state, so many
+ *  games may be played at once in one program.
+ * @author Mike Smith University of Brighton
+ */
+
+public class Model
+{
+    // Boarder
+    public  static final int B              = 6;  // Border offset
+    public  static final int M              = 20; // Menu offset
+
+    // Size of things
+    public  static final float BALL_SIZE    = 30; // Ball side
+    private static final float BRICK_WIDTH  = 50; // Brick size
+    private static final float BRICK_HEIGHT = 30;
+    private static final int   BRICK_HITS   = 2;  // Hits to destroy
+
+    // Swept collision of the ball
+    private static final int MAX_CONTACTS   = 4;  // Hits dealt with a tick
+    private static final int NO_CONTACT     = -1; // Nothing hit
+    private static final int BAT_CONTACT    = -2; // Bat hit
+
+    // Many balls
+    private static final int MAX_BALLS      = 4096; // Most in play
+    private static final int BALLS_PER_PART = 256;  // Moved by one thread
+
+    public  static final int BAT_MOVE       = 10; // Distance to move bat
+
+    // Speed of ball
+    private static final float START_SPEED  = 3;  // Units to move
+    private static final float UPPER_LIMIT  = 5;  // Fastest speed
+
+    // Ticks per second of the game loop
+    private static final int NORMAL_RATE    = 50;  // Normal
+    private static final int FAST_RATE      = 500; // Very fast
+    private static final int MAX_CATCH_UP   = 5;   // Ticks run when behind
+
+    // Scores
+    private static final int HIT_BRICK      = 50;  // Score
+    private static final int HIT_BOTTOM     = -200;// Score
+
+    //check if game is over
+    private boolean GameOver = false;
+
+    private final Object lock = new Object(); // Guards this game only
+    private final GameObj[] balls = new GameObj[MAX_BALLS]; // Made as needed
+    private int ballCount = 0;     // Balls in play
+    private final BallMover[] movers = new BallMover[MAX_BALLS / BALLS_PER_PART];
+    private BrickField bricks;     // The bricks
+    private GameObj bat;           // The bat
+    private BrickTree tree;        // Bricks by position
+    private BrickField shownBricks;// Copy of bricks when last replaced
+    private boolean bricksReplaced;// Replaced since copy, not just hit
+    private int[] hitLog = new int[64]; // Bricks hit since copy, in order
+    private int   hitCount;        // Used in hitLog
+    private final Input   input   = new Input();   // Keys from the user
+
+    // Latest frame for the view, replaced at the end of each tick
+    private final AtomicReference<Frame> frame = new AtomicReference<>();
+
+    private boolean runGame = true; // Game running
+    private boolean fast = false;   // Fast tick rate
+
+    private int score = 0;
+    private int lives = 5;
+    private int bricksLeft;
+    private float S = START_SPEED; // Units to move (Speed)
+    private long seed = 0;         // Chooses how a game starts
+    private long tick = 0;         // Ticks played this game
+
+    private final float W;         // Width of area
+    private final float H;         // Height of area
+
+    private SoundSink  soundSink  = SoundSink.NONE;  // Where sounds go
+    private RenderSink renderSink = RenderSink.NONE; // Told of changes
+    private ByteBuffer levelStart = null;            // Snapshot for reset()
+    private LevelLoader levels = null;               // Levels to play
+    private final Autopilot autopilot = new Autopilot();
+    private boolean autopilotOn = false;             // Bat moved for user
+    private final EventBus events = new EventBus();  // What happened
+    private boolean soundListening = false;          // Sounds on the bus
+
+    public Model( int width, int height )
+    {
+        this.W = width; this.H = height;
+    }
+
+    /**
+     * Create in the model the objects that form the game
+     */
+
+    public void createGameObjects()
+    {
+        synchronized( lock )
+        {
+            BrickField bricks = new BrickField( 60 );
+
+            // *[1]******************************************************[1]*
+            // * Fill in code to place the bricks on the board              *
+
+             for (int row = 0; row < 10; row++) { 
+                bricks.add((5*row*W/(BRICK_WIDTH)+5), 100, BRICK_WIDTH, BRICK_HEIGHT, BRICK_HITS, Colour.GRAY);
+                bricks.add((5*row*W/(BRICK_WIDTH)+5), 135, BRICK_WIDTH, BRICK_HEIGHT, BRICK_HITS, Colour.GRAY);
+                bricks.add((5*row*W/(BRICK_WIDTH)+5), 170, BRICK_WIDTH, BRICK_HEIGHT, BRICK_HITS, Colour.GRAY);
+                bricks.add((5*row*W/(BRICK_WIDTH)+5), 205, BRICK_WIDTH, BRICK_HEIGHT, BRICK_HITS, Colour.GRAY);
+                bricks.add((5*row*W/(BRICK_WIDTH)+5), 240, BRICK_WIDTH, BRICK_HEIGHT, BRICK_HITS, Colour.GRAY);
+                bricks.add((5*row*W/(BRICK_WIDTH)+5), 275, BRICK_WIDTH, BRICK_HEIGHT, BRICK_HITS, Colour.GRAY);
+             }
+
+            createGameObjects( bricks );
+        }
+    }
+
+    /**
+     * Create in the model the objects that form the game,
+     *  using the bricks given rather than the usual ones
+     * @param bricks Bricks to play with, used not copied
+     */
+    public void createGameObjects( BrickField bricks )
+    {
+        createGameObjects( bricks, new BrickTree( bricks ) );
+    }
+
+    /**
+     * Create in the model the objects that form the game,
+     *  starting at a level from a level pack
+     * @param level Level to start at, used not copied
+     */
+    public void createGameObjects( Level level )
+    {
+        createGameObjects( level.getBricks(), level.getTree() );
+    }
+
+    private void createGameObjects( BrickField bricks, BrickTree tree )
+    {
+        synchronized( lock )
+        {
+            SplittableRandom start = new SplittableRandom( seed ); // Mixes close seeds
+            float   x     = B + (float) start.nextDouble() * (W - BALL_SIZE - 2*B);
+            GameObj ball  = new GameObj(x, H/2, BALL_SIZE, BALL_SIZE, Colour.RED );
+            balls[0]   = ball;
+            ballCount  = 1;
+            bat    = new GameObj(W/2, H - BRICK_HEIGHT*1.5f, BRICK_WIDTH*3,BRICK_HEIGHT/4, Colour.WHITE);
+            this.bricks = bricks;
+            this.tree  = tree;
+            bricksLeft = bricks.countAlive();
+            score      = 0;
+            lives      = 5;
+            S          = START_SPEED;
+            GameOver   = false;
+            tick       = 0;
+            if ( start.nextBoolean() )
+                ball.changeDirectionX();        // Start to the left
+
+            bricksReplaced = true;
+            publishFrame();
+            keepLevelStart();
+
+            Log.debug("Bricks Created: %d", bricks.size());
+        }
+    }
+
+    /**
+     * Move on to the next level, keeping the score and lives.
+     *  The level has been made in the background so this is quick.
+     *  If it could not be made the levels are given up.
+     * @return false if there is no next level
+     */
+    private boolean nextLevel()
+    {
+        if ( levels == null || ! levels.hasNext() ) return false;
+        Level level;
+        try
+        {
+            level = levels.next();
+        }
+        catch (RuntimeException e)             // Not the game thread's fault
+        {
+            Debug.error( "Model: next level not played\n%s", e.getMessage() );
+            levels = null;
+            return false;
+        }
+        bricks     = level.getBricks();
+        tree       = level.getTree();
+        bricksLeft = bricks.countAlive();
+        ballCount  = 1;
+        balls[0].setPosition( W/2, H/2 );
+        bat.setPosition( W/2, bat.getY() );
+        S          = START_SPEED;
+        bricksReplaced = true;
+        keepLevelStart();
+        events.publish( GameEvent.NEW_LEVEL, level.getNumber(), score );
+        return true;
+    }
+
+    /**
+     * Keep a snapshot of the game as the level starts, for reset().
+     *  Also used by a Replayer, as a recording starts with a level.
+     */
+    void keepLevelStart()
+    {
+        int size = snapshotSize();
+        if ( levelStart == null || levelStart.capacity() < size )
+            levelStart = ByteBuffer.allocate( size );
+        levelStart.clear();
+        writeSnapshot( levelStart );
+    }
+
+    /**
+     * Set where the levels after the first come from, when all
+     *  the bricks of a level are destroyed the next is played.
+     *  Without levels the game is won at the end of the first.
+     * @param levels Level loader, or null for none
+     */
+    public void setLevels( LevelLoader levels )
+    { this.levels = levels; }
+
+    public LevelLoader getLevels()
+    { return levels; }
+
+    // Snapshot of the state of the game, see writeSnapshot()
+    private static final int SNAPSHOT_MAGIC   = 0x42524b53;  // "BRKS"
+    private static final int SNAPSHOT_VERSION = 4;
+
+    /**
+     * Bytes needed to hold a snapshot of the game as it is now
+     * @return Size of snapshot
+     */
+    public int snapshotSize()
+    {
+        synchronized( lock )
+        {
+            return (int) snapshotSize( ballCount, bricks.size() );
+        }
+    }
+
+    private static long snapshotSize( int balls, int bricks )
+    {
+        return 4+4 + 8+8 + 4 + balls * 10L + 4+4 + 4*4+2 + 4 + 4 + 4 + bricks * 18L;
+    }
+
+    /**
+     * Write the whole state of the game to a buffer, which
+     *  must have snapshotSize() bytes remaining.
+     *  Restore it with readSnapshot().
+     * @param b Buffer to write to
+     */
+    public void writeSnapshot( ByteBuffer b )
+    {
+        synchronized( lock )
+        {
+            b.putInt( SNAPSHOT_MAGIC ).putInt( SNAPSHOT_VERSION );
+            b.putLong( seed ).putLong( tick );
+            b.putInt( ballCount );
+            for ( int i = 0; i < ballCount; i++ )
+                b.putFloat( balls[i].getX() ).putFloat( balls[i].getY() )
+                 .put( (byte) balls[i].getDirX() ).put( (byte) balls[i].getDirY() );
+            b.putFloat( bat.getX() ).putFloat( bat.getY() );
+            b.putFloat( S ).putInt( score ).putInt( lives ).putInt( bricksLeft )
+             .put( (byte) (GameOver ? 1 : 0) ).put( (byte) (autopilotOn ? 1 : 0) );
+            b.putFloat( input.getBatSpeed() );
+            b.putInt( levels == null ? 0 : levels.getNext() );
+            bricks.write( b );
+        }
+    }
+
+    /**
+     * Put the game back as it was when a snapshot was written.
+     *  The objects of the game are changed in place, the bricks
+     *  are only rebuilt if they are in different places.
+     *  If levels are being played the loader goes back to the
+     *  level after the one in the snapshot.
+     *  The snapshot is checked before anything is changed, so a
+     *  bad one leaves the game as it was.
+     * @param b Buffer holding a snapshot
+     * @throws IllegalArgumentException If not a snapshot this version can read
+     */
+    public void readSnapshot( ByteBuffer b )
+    {
+        synchronized( lock )
+        {
+            check( b );
+            b.position( b.position() + 8 );             // Magic and version
+            if ( bat == null )
+                bat  = new GameObj(0, 0, BRICK_WIDTH*3,BRICK_HEIGHT/4, Colour.WHITE);
+            seed = b.getLong(); tick = b.getLong();
+            int n = b.getInt();
+            for ( int i = 0; i < n; i++ )
+            {
+                if ( balls[i] == null )                 // Kept once made
+                    balls[i] = new GameObj(0, 0, BALL_SIZE, BALL_SIZE, Colour.RED );
+                balls[i].setPosition( b.getFloat(), b.getFloat() );
+                balls[i].setDirection( b.get(), b.get() );
+            }
+            ballCount = n;
+            bat.setPosition( b.getFloat(), b.getFloat() );
+            S          = b.getFloat();
+            score      = b.getInt();
+            lives      = b.getInt();
+            bricksLeft = b.getInt();
+            GameOver   = b.get() != 0;
+            autopilotOn = b.get() != 0;
+            input.setBatSpeed( b.getFloat() );
+            int next = b.getInt();                      // Level after this one
+            if ( levels != null && levels.getNext() != next )
+                levels.startAt( next );                 // Not for a reset()
+            if ( bricks == null ) bricks = new BrickField( 0 );
+            if ( bricks.read( b ) && tree != null )
+                tree.reset();                           // Same places
+            else
+                tree = new BrickTree( bricks );
+            bricksReplaced = true;
+            if ( renderSink != RenderSink.NONE ) publishFrame();
+        }
+    }
+
+    /**
+     * Check that a buffer holds the whole of a snapshot, from the
+     *  counts of balls and bricks in it, without reading it
+     * @param b Buffer holding a snapshot
+     * @throws IllegalArgumentException If not a whole snapshot of this version
+     */
+    private void check( ByteBuffer b )
+    {
+        int  at   = b.position();
+        long left = b.remaining();
+        if ( left < snapshotSize( 1, 0 ) )
+            throw new IllegalArgumentException( "Snapshot cut short" );
+        if ( b.getInt( at ) != SNAPSHOT_MAGIC || b.getInt( at + 4 ) != SNAPSHOT_VERSION )
+            throw new IllegalArgumentException( "Not a snapshot of this version" );
+        int n = b.getInt( at + 24 );
+        if ( n < 1 || n > MAX_BALLS )
+            throw new IllegalArgumentException( "Snapshot has " + n + " balls" );
+        if ( left < snapshotSize( n, 0 ) )
+            throw new IllegalArgumentException( "Snapshot cut short" );
+        int next = b.getInt( at + (int) snapshotSize( n, 0 ) - 8 );
+        if ( next < 0 || levels != null && next > levels.getPack().size() )
+            throw new IllegalArgumentException( "Snapshot has next level " + next );
+        int m = b.getInt( at + (int) snapshotSize( n, 0 ) - 4 );
+        if ( m < 0 )
+            throw new IllegalArgumentException( "Snapshot has " + m + " bricks" );
+        if ( left < snapshotSize( n, m ) )
+            throw new IllegalArgumentException( "Snapshot cut short" );
+    }
+
+    /**
+     * Put the game back as it was when the level being played
+     *  started, reusing all of them so that no garbage
+     *  is made. Does not start or stop the game.
+     *  The tick goes on counting, so that the input recorded
+     *  after a reset is in order, and the autopilot stays as the
+     *  user last set it. Only call on the thread
+     *  running ticks, others should use Input.Command.RESET.
+     */
+    public void reset()
+    {
+        synchronized( lock )
+        {
+            long    ticks = tick;
+            boolean pilot = autopilotOn;
+            levelStart.flip();
+            readSnapshot( levelStart );
+            levelStart.limit( levelStart.capacity() );
+            tick = ticks; autopilotOn = pilot;
+        }
+    }
+
+    private GameLoop active  = null;
+    /**
+     * Start the continuous updates to the game, the thread
+     *  running them is made the first time and then reused
+     */
+    public void startGame()
+    {
+        synchronized ( lock )
+        {
+            if ( active == null )
+            {
+                active = new GameLoop( this::tick, fast ? FAST_RATE : NORMAL_RATE,
+                                       MAX_CATCH_UP );
+                active.start( "Model.GameLoop" );
+            } else {
+                active.resume();
+            }
+            soundSink.playMusic("Music.wav");
+        }
+    }
+
+    /**
+     * Stop the continuous updates to the game
+     * Will freeze the game, the thread waits to be started again.
+     */
+    public void stopGame()
+    {  
+        synchronized ( lock )
+        {
+            if ( active != null ) active.pause();
+            soundSink.pauseMusic();
+        }
+    }
+
+    /**
+     * Set where the sounds of the game are sent
+     * @param sink Sound sink to use
+     */
+    public void setSoundSink( SoundSink sink )
+    {
+        soundSink = sink;
+        if ( soundListening ) return;
+        soundListening = true;
+        events.subscribe( "Model.Sound", (e, a, b) ->
+        {
+            if ( e.getSoundName() != null ) soundSink.playSound( e.getSoundName() );
+        } );
+    }
+
+    /**
+     * The events of the game, for anyone wanting to listen
+     * @return Event bus of the model
+     */
+    public EventBus getEvents()
+    { return events; }
+
+    /**
+     * Set the seed that chooses how the next game created starts,
+     *  where across the board the ball is and which way it goes.
+     *  The same seed, bricks and input always give the same game
+     * @param seed Seed to use
+     */
+    public void setSeed( long seed )
+    { this.seed = seed; }
+
+    public long getSeed()
+    { return seed; }
+
+    public float getWidth()
+    { return W; }
+
+    public float getHeight()
+    { return H; }
+
+    /**
+     * Number of ticks played in this game
+     * @return Ticks played
+     */
+    public long getTick()
+    {
+        synchronized( lock )
+        {
+            return tick;
+        }
+    }
+
+    /**
+     * A checksum of the state of the game, used to check that
+     *  a replay is following the game recorded
+     * @return Checksum
+     */
+    public long checksum()
+    {
+        synchronized( lock )
+        {
+            long h = tick;
+            for ( int i = 0; i < ballCount; i++ )
+            {
+                GameObj ball = balls[i];
+                h = h * 31 + Float.floatToIntBits( ball.getX() );
+                h = h * 31 + Float.floatToIntBits( ball.getY() );
+                h = h * 31 + ball.getDirX() * 3 + ball.getDirY();
+            }
+            h = h * 31 + Float.floatToIntBits( bat.getX() );
+            h = h * 31 + Float.floatToIntBits( S );
+            h = h * 31 + score;
+            h = h * 31 + lives;
+            h = h * 31 + bricksLeft;
+            for ( int i = 0; i < bricks.size(); i++ )
+                h = h * 31 + bricks.getHits( i );
+            return h;
+        }
+    }
+
+    /**
+     * Set who is told when the model has changed
+     * @param sink Render sink to use
+     */
+    public void setRenderSink( RenderSink sink )
+    {
+        synchronized( lock )
+        {
+            renderSink     = sink;
+            bricksReplaced = true;     // Hits were not logged before
+        }
+    }
+
+    /**
+     * Has the game finished, all lives lost or all bricks destroyed
+     * @return true if the game is over
+     */
+    public boolean isOver()
+    { return GameOver || bricksLeft <= 0; }
+
+    public int getBricksLeft() {
+        return bricksLeft;
+    }
+    
+    public GameObj getBat()            
+    { return bat; }
+
+    public GameObj getBall()           
+    { return balls[0]; }
+
+    /**
+     * Number of balls in play
+     * @return Balls in play
+     */
+    public int getBallCount()
+    { return ballCount; }
+
+    /**
+     * A ball in play
+     * @param i Which ball, 0 .. getBallCount()-1
+     * @return The ball
+     */
+    public GameObj getBall( int i )
+    { return balls[i]; }
+
+    /**
+     * Add balls to the game, each a copy of one in play going
+     *  the other way in X. Balls are kept once made, so adding
+     *  them again after a reset makes no garbage.
+     * @param n Number of balls to add, stops at the most allowed
+     */
+    public void addBalls( int n )
+    {
+        synchronized( lock )
+        {
+            int have = ballCount;
+            for ( int k = 0; k < n && ballCount < MAX_BALLS; k++ )
+            {
+                GameObj from = balls[ k % have ];
+                if ( balls[ballCount] == null )
+                    balls[ballCount] = new GameObj( from );
+                balls[ballCount].setPosition( from.getX(), from.getY() );
+                balls[ballCount].setDirection( -from.getDirX(), from.getDirY() );
+                ballCount++;
+            }
+            Log.debug( "Balls: %d", ballCount );
+        }
+    }
+
+    public BrickField getBricks()    
+    { return bricks; }
+
+    /**
+     * Add to score n units
+     * @param n units to add to score
+     */
+    protected void addToScore(int n)    
+    { score += n; }
+
+    public int getScore()               
+    { return score; }
+
+    protected void MinusLife(int n)    
+    { lives -= n; }
+
+    public int getLives()               
+    { return lives; }
+
+    /**
+     * Set speed of ball to be fast (true/ false)
+     * @param fast Set to true if require fast moving ball
+     */
+    public void setFast(boolean fast)   
+    { 
+        synchronized ( lock )
+        {
+            this.fast = fast; 
+            if ( active != null )
+                active.setTickRate( fast ? FAST_RATE : NORMAL_RATE );
+        }
+    }
+
+    /**
+     * Move the bat. (-1) is left or (+1) is right
+     * @param direction - The direction to move
+     */
+    public void moveBat( int direction )
+    {
+        moveBat( direction, BAT_MOVE );
+        Log.debug( "Model: Move bat = %6.2f", bat.getX() );
+    }
+
+    /**
+     * Move the bat a given distance, stopping at the edges
+     * @param direction - The direction to move, -1 left +1 right
+     * @param distance  - How far to move
+     */
+    public void moveBat( int direction, float distance )
+    {
+        // *[2]******************************************************[2]*
+        // * Fill in code to prevent the bat being moved off the screen *
+        // **************************************************************
+
+        float dist = direction * distance;    // Actual distance to move
+
+        if (bat.getX() + dist < 0)                      //left
+            dist = -bat.getX();
+
+        if (bat.getX() + dist > W - bat.getWidth())     //right
+            dist = W - bat.getWidth() - bat.getX();
+
+        bat.moveX(dist);
+    }
+
+    /**
+     * Let the autopilot move the bat, or give it back to the user
+     * @param on true for the autopilot to move the bat
+     */
+    public void setAutopilot( boolean on )
+    {
+        synchronized( lock )
+        {
+            autopilotOn = on;
+            Log.debug( on ? "Autopilot on" : "Autopilot off" );
+        }
+    }
+
+    public boolean isAutopilot()
+    { return autopilotOn; }
+
+    /**
+     * Input from the user, applied at the start of each tick
+     * @return The input
+     */
+    public Input getInput()
+    { return input; }
+
+    /**
+     * Advance the game by one step: move the balls, then
+     *  deal with what they hit. Does not sleep, so may be called
+     *  as fast as wanted when running headless.
+     *  Once the game is over only the input is applied, so that
+     *  a RESET can start it again.
+     * Called by the GameLoop thread when playing interactively
+     */
+    public void tick()
+    {
+        long start = Metrics.now();
+        synchronized ( lock ) // Make thread safe
+        {
+            Metrics.since( Metrics.LOCK_WAIT, start );
+            tick++;
+            input.apply( this );    // Keys since last tick, may reset
+            if ( isOver() ) return;
+            if ( autopilotOn ) autopilot.steer( this );
+
+            // Move the balls, each against the bricks as they were
+            //  at the start of the tick. With many balls the work is
+            //  split across cores, a BallMover for each part.
+            int parts = (ballCount + BALLS_PER_PART - 1) / BALLS_PER_PART;
+            for ( int p = 0; p < parts; p++ )
+            {
+                if ( movers[p] == null ) movers[p] = new BallMover();
+                movers[p].reinitialize();
+                movers[p].setBalls( p * BALLS_PER_PART,
+                                    Math.min( ballCount, (p+1) * BALLS_PER_PART ) );
+            }
+            for ( int p = 1; p < parts; p++ ) movers[p].fork();
+            movers[0].invoke();                 // On the game thread
+            for ( int p = 1; p < parts; p++ ) movers[p].join();
+
+            // Then deal with what was hit, in the order of the balls,
+            //  so the result does not depend on how the work was split
+
+            if ( movers[0].bottomHit )           // Bottom, first ball only
+            {
+                addToScore( HIT_BOTTOM ); 
+                MinusLife(1);
+                events.publish( GameEvent.BOTTOM_HIT, lives, score );
+            }
+
+            // *[3]******************************************************[3]*
+            // * Fill in code to check if a visible brick has been hit      *
+            // *      The ball has no effect on an invisible brick          *
+            // **************************************************************
+
+            for ( int p = 0; p < parts; p++ )
+            {
+                BallMover m = movers[p];
+                for ( int k = 0; k < m.hitCount; k++ )
+                {
+                    int brick = m.hits[k];
+                    if ( brick == BAT_CONTACT )
+                    {
+                        events.publish( GameEvent.BAT_HIT, 0, 0 );
+                        continue;
+                    }
+                    if ( ! bricks.isAlive(brick) ) continue; // Gone this tick
+
+                    //check brick is out of lives
+                    //if it is, then check if all other bricks are out of lives
+                    if ( renderSink != RenderSink.NONE ) logHit( brick );
+                    if (bricks.hit(brick)) {
+                        tree.remove(brick);
+                        bricksLeft--;
+                        events.publish( GameEvent.BRICK_DESTROYED, brick, bricksLeft );
+                    }
+                    addToScore(HIT_BRICK);
+                    if (S < UPPER_LIMIT) S += 0.2;
+                    events.publish( GameEvent.BRICK_HIT, brick, score );
+                }
+            }
+
+            if (bricksLeft == 0) {       // All destroyed
+                if ( ! nextLevel() ) {
+                    events.publish( GameEvent.WON, score, 0 );
+                    stopGame();
+                }
+            }
+
+            if (lives<= 0) //stop game if no lives left
+            {
+                stopGame();
+                GameOver = true;
+                events.publish( GameEvent.GAME_OVER, score, 0 );
+            }
+
+            if ( renderSink != RenderSink.NONE ) publishFrame();
+        }
+        modelChanged();      // Model changed refresh screen
+        Metrics.since( Metrics.TICK, start );
+    }
+
+    /**
+     * Moves some of the balls for one tick, noting what they hit
+     *  but not changing the bricks, so that many movers may run at
+     *  once. Reused every tick, so makes no garbage.
+     */
+    @SuppressWarnings("serial")             // Never serialized
+    private final class BallMover extends RecursiveAction
+    {
+        private final Contact contact = new Contact();
+        private BrickTree.Query query;      // Own results of tree query
+        private int from, to;               // Balls to move
+        int[]   hits = new int[16];          // Bricks or BAT_CONTACT, in order
+        int     hitCount;
+        boolean bottomHit;                  // First ball hit the bottom
+
+        void setBalls( int from, int to )
+        {
+            this.from = from; this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            hitCount  = 0;
+            bottomHit = false;
+            if ( query == null || ! query.isFor( tree ) ) query = tree.newQuery();
+            for ( int i = from; i < to; i++ )
+                move( balls[i], i == 0 );
+        }
+
+        private void move( GameObj ball, boolean first )
+        {
+            float x = ball.getX();  // Current x,y position
+            float y = ball.getY();
+            // Deal with possible edge of board hit
+            if (x >= W - B - BALL_SIZE)  
+                ball.changeDirectionX();
+
+            if (x <= 0 + B            )  
+                ball.changeDirectionX();
+
+            if (y >= H - B - BALL_SIZE)  // Bottom
+            { 
+                ball.changeDirectionY(); 
+                if ( first ) bottomHit = true;
+            }
+
+            if (y <= 0 + M            ) 
+                ball.changeDirectionY();
+
+            // Move the ball, stopping at each brick or the bat it
+            //  touches on the way, turning off the side that is hit.
+            // A hit on the left or right turns the ball in X.
+            float left = 1;                   // Part of move still to do
+            for ( int n = 0; n < MAX_CONTACTS && left > 0; n++ )
+            {
+                float dx = S * left * ball.getDirX();
+                float dy = S * left * ball.getDirY();
+                int brick = nextContact( ball, dx, dy );
+                if ( brick == NO_CONTACT ) break;
+
+                ball.moveX( S * left * contact.time );  // Up to contact
+                ball.moveY( S * left * contact.time );
+                left *= 1 - contact.time;
+                if ( contact.isSide() )
+                    ball.changeDirectionX();
+                else
+                    ball.changeDirectionY();
+
+                if ( hitCount == hits.length ) hits = Arrays.copyOf( hits, hitCount*2 );
+                hits[hitCount++] = brick;
+            }
+            ball.moveX(S * left);  ball.moveY(S * left);
+        }
+
+        /**
+         * Find the first brick or the bat the ball would touch if
+         *  moved by (dx,dy), the time and side are left in contact
+         * @return Index of brick, BAT_CONTACT or NO_CONTACT
+         */
+        private int nextContact( GameObj ball, float dx, float dy )
+        {
+            int   first = NO_CONTACT;
+            float time  = Float.MAX_VALUE;
+            int   sideX = 0, sideY = 0;       // Side of first hit
+
+            int found = tree.query( query,
+                                    Math.min( ball.getX(), ball.getX() + dx ),
+                                    Math.min( ball.getY(), ball.getY() + dy ),
+                                    ball.getWidth()  + Math.abs( dx ),
+                                    ball.getHeight() + Math.abs( dy ) );
+            for ( int k = 0; k < found; k++ )
+            {
+                int i = query.get(k);
+                if ( bricks.isAlive(i) && bricks.sweep( i, ball, dx, dy, contact )
+                     && contact.time < time )
+                {
+                    first = i; time = contact.time;
+                    sideX = contact.normalX; sideY = contact.normalY;
+                }
+            }
+            if ( ball.sweep( bat, dx, dy, contact ) && contact.time < time )
+            {
+                first = BAT_CONTACT; time = contact.time;
+                sideX = contact.normalX; sideY = contact.normalY;
+            }
+
+            contact.time    = time;         // Leave first in contact
+            contact.normalX = sideX;
+            contact.normalY = sideY;
+            return first;
+        }
+    }
+
+    /**
+     * Copy the state needed to draw the game into a new Frame.
+     *  The bricks are only copied when replaced, by a new game,
+     *  level or snapshot; after that the frame lists the bricks hit.
+     */
+    private void publishFrame()
+    {
+        if ( bricksReplaced )
+        {
+            shownBricks    = bricks.copy();
+            hitLog         = new int[64];  // Old frames may hold the old one
+            hitCount       = 0;
+            bricksReplaced = false;
+        }
+        float[] xy = new float[ 2*ballCount ];    // Where each ball is
+        for ( int i = 0; i < ballCount; i++ )
+        {
+            xy[2*i] = balls[i].getX(); xy[2*i+1] = balls[i].getY();
+        }
+        frame.set( new Frame( new GameObj( balls[0] ), xy, new GameObj( bat ),
+                              shownBricks, hitLog, hitCount, tree,
+                              score, lives, bricksLeft, W, H ) );
+    }
+
+    /**
+     * Note a brick hit, for the view to hit in its own copy.
+     *  Entries are only added, so a frame may share the log.
+     */
+    private void logHit( int brick )
+    {
+        if ( hitCount == hitLog.length ) hitLog = Arrays.copyOf( hitLog, hitCount*2 );
+        hitLog[hitCount++] = brick;
+    }
+
+    /**
+     * The latest frame of the game, never changed once returned
+     *  so may be used without holding any lock
+     * @return Latest frame or null if no game created
+     */
+    public Frame getFrame()
+    {
+        return frame.get();
+    }
+
+    /**
+     * Model has changed so tell the render sink so that it
+     *  can redraw the current state of the game
+     */
+    public void modelChanged()
+    {
+        renderSink.modelChanged( this );
+    }
+}
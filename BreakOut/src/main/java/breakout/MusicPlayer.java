@@ -0,0 +1,131 @@
+package breakout;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.io.File;
+
+/**
+ * Background music, streamed from the file to a SourceDataLine
+ *  by its own daemon thread, looping until stopped.
+ * None of the methods wait for the audio system, pause and
+ *  resume just stop and start the line, so take effect at once.
+ */
+public class MusicPlayer
+{
+    private static final int CHUNK = 4096;   // Bytes written at a time
+
+    private final String  soundName;         // File to play
+    private volatile boolean paused  = true; // Waiting to be resumed
+    private volatile boolean stopped = false;// Thread to die
+    private volatile SourceDataLine line;    // Line being written
+    private Thread thread = null;
+
+    /**
+     * @param soundName Name of the sound file to play
+     */
+    public MusicPlayer( String soundName )
+    {
+        this.soundName = soundName;
+    }
+
+    /**
+     * Name of the sound file being played
+     * @return Name of the sound file
+     */
+    public String getSoundName()
+    {
+        return soundName;
+    }
+
+    /**
+     * Start or resume the music
+     */
+    public synchronized void resume()
+    {
+        if ( stopped ) return;
+        paused = false;
+        SourceDataLine l = line;
+        if ( l != null ) l.start();
+        if ( thread == null )
+        {
+            thread = new Thread( this::runAsSeparateThread, "MusicPlayer" );
+            thread.setDaemon(true);   // So may die when program exits
+            thread.start();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Pause the music, it carries on from the same place on resume
+     */
+    public synchronized void pause()
+    {
+        paused = true;
+        SourceDataLine l = line;
+        if ( l != null ) l.stop();
+    }
+
+    /**
+     * Stop the music for good, the thread will then die
+     */
+    public synchronized void stop()
+    {
+        stopped = true;
+        pause();
+        SourceDataLine l = line;
+        if ( l != null ) l.close();     // Release a blocked write
+        if ( thread != null ) thread.interrupt();
+        notifyAll();
+    }
+
+    /**
+     * Stream the file to the line, again and again
+     */
+    private void runAsSeparateThread()
+    {
+        byte[] buffer = new byte[CHUNK];
+        try
+        {
+            while ( ! stopped )
+            {
+                try ( AudioInputStream in =
+                          AudioSystem.getAudioInputStream( new File(soundName).getAbsoluteFile() ) )
+                {
+                    AudioFormat format = in.getFormat();
+                    if ( line == null )
+                    {
+                        SourceDataLine l = AudioSystem.getSourceDataLine( format );
+                        l.open( format );
+                        line = l;
+                    }
+                    int n;
+                    while ( ! stopped && (n = in.read( buffer )) > 0 )
+                    {
+                        waitWhilePaused();
+                        line.write( buffer, 0, n );
+                    }
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            // Stopped
+        }
+        catch (Exception e)
+        {
+            Debug.error( "MusicPlayer: Error with playing music\n%s", e.getMessage() );
+        }
+        finally
+        {
+            if ( line != null ) line.close();
+        }
+    }
+
+    private synchronized void waitWhilePaused() throws InterruptedException
+    {
+        while ( paused && ! stopped ) wait();
+        if ( ! line.isRunning() && ! stopped ) line.start();
+    }
+}
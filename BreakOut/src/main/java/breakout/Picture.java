@@ -0,0 +1,201 @@
+package breakout;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.imageio.ImageIO;
+
+/**
+ * Draws a frame of the game onto any Graphics2D.
+ *  Knows nothing of windows, so can draw into an off screen
+ *  image even when there is no display.
+ *  The background and bricks are kept in a BrickLayer.
+ *  The board may be larger than the picture, the part shown
+ *  follows the first ball like a camera.
+ */
+public class Picture
+{
+    public static final Font HUD_FONT = new Font("Monospaced",Font.BOLD,14);
+    public static final Font END_FONT = new Font("Monospaced",Font.BOLD,50);
+    public static final int  HUD_Y    = 80;   // Base line of status text
+
+    private final int width;                  // Size of picture
+    private final int height;
+    private final BrickLayer layer;           // Background & bricks
+    private final Rectangle2D.Float rect = new Rectangle2D.Float(); // Reused
+    private final List<Rectangle> unused = new ArrayList<>(); // Areas not needed
+    private final Hud hud;                    // Status line
+    private int viewX = 0, viewY = 0;         // Part of board shown
+
+    /**
+     * @param layerImage Image to keep the background and bricks in,
+     *                   the size of the picture
+     * @param background Picture behind the bricks, may be null
+     */
+    public Picture( BufferedImage layerImage, Image background )
+    {
+        width  = layerImage.getWidth();
+        height = layerImage.getHeight();
+        layer  = new BrickLayer( layerImage, background );
+        hud    = new Hud( width );
+    }
+
+    /**
+     * Read the background picture
+     * @return The picture or null if it can not be read
+     */
+    public static Image loadBackground()
+    {
+        try
+        {
+            return ImageIO.read( new File( "background.jpg" ) );
+        }
+        catch (IOException e)
+        {
+            Debug.error( "Picture: Can not load background.jpg\n%s", e.getMessage() );
+            return null;
+        }
+    }
+
+    /**
+     * The cached background and bricks
+     * @return The brick layer
+     */
+    public BrickLayer getLayer()
+    {
+        return layer;
+    }
+
+    /**
+     *  Draw all of a frame of the game
+     *   Uses draw:       Draw a shape
+     *        fill:       Fill the shape
+     *        setPaint:   Colour used
+     *        drawString: Write string on display
+     *  @param g Graphics context to use
+     *  @param f Frame to draw
+     */
+    public void draw( Graphics2D g, Frame f )
+    {
+        hud.countFrame();
+        if ( drawEndOfGame( g, f ) ) return;
+
+        // Background and bricks
+        update( f, unused );
+        unused.clear();
+        g.setClip( null );
+        g.drawImage( layer.getImage(), 0, 0, null );
+
+        hud.update( f );
+        drawSprites( g, f );
+    }
+
+    /**
+     * Move the view to follow the first ball, then bring the
+     *  brick layer up to date for the part of the board shown
+     * @param f     Frame to be drawn
+     * @param dirty Areas of the layer that have changed are added
+     * @return true if all the layer was redrawn
+     */
+    public boolean update( Frame f, List<Rectangle> dirty )
+    {
+        GameObj ball = f.getBall();
+        viewX = follow( ball.getX() + ball.getWidth()/2,  width,  f.getWidth() );
+        viewY = follow( ball.getY() + ball.getHeight()/2, height, f.getHeight() );
+        return layer.update( f, viewX, viewY, dirty );
+    }
+
+    /**
+     * Left (or top) of a view centred on a point, kept on the board
+     */
+    private static int follow( float centre, int view, float board )
+    {
+        int most = (int) Math.max( 0, board - view );
+        return Math.min( most, Math.max( 0, (int) (centre - view/2) ) );
+    }
+
+    /** Left of the part of the board shown */
+    public int getViewX() { return viewX; }
+
+    /** Top of the part of the board shown */
+    public int getViewY() { return viewY; }
+
+    /**
+     * Draw the game over or won screen if the game has ended
+     * @return true if the game has ended
+     */
+    public boolean drawEndOfGame( Graphics2D g, Frame f )
+    {
+        String msg;
+        if ( f.getLives() == 0 )
+            msg = "GAME OVER!";
+        else if ( f.getBricksLeft() == 0 )
+            msg = "YOU'VE WON!";
+        else
+            return false;
+
+        g.setClip( null );
+        g.setPaint( Color.BLACK);
+        g.fillRect( 0, 0, width, height );
+        g.setPaint( Color.white );
+        g.setFont( END_FONT );
+        FontMetrics fm = g.getFontMetrics( END_FONT );
+        g.drawString( msg, width /2-fm.stringWidth(msg)/2, HUD_Y );
+        return true;
+    }
+
+    /**
+     * Draw what moves or changes every frame, over the brick layer,
+     *  the status line is as last brought up to date by the Hud
+     */
+    public void drawSprites( Graphics2D g, Frame f )
+    {
+        GameObj ball = f.getBall();         // Display the Balls
+        g.setColor( ball.getColour().forSwing() );
+        for ( int i = 0; i < f.getBallCount(); i++ )
+        {
+            float bx = f.getBallX(i) - viewX, by = f.getBallY(i) - viewY;
+            if ( bx > width || by > height || bx < -ball.getWidth() || by < -ball.getHeight() )
+                continue;                   // Not in view
+            rect.setRect( bx, by, ball.getWidth(), ball.getHeight() );
+            g.fill( rect );
+        }
+        displayGameObj( g, f.getBat()  );   // Display the Bat
+
+        hud.draw( g );                      // Display state of game
+    }
+
+    /**
+     * The status line
+     * @return The Hud
+     */
+    public Hud getHud()
+    {
+        return hud;
+    }
+
+    /**
+     * Count a frame drawn other than by draw()
+     */
+    public void countFrame()
+    {
+        hud.countFrame();
+    }
+
+    private void displayGameObj( Graphics2D g, GameObj go )
+    {
+        g.setColor( go.getColour().forSwing() );
+        rect.setRect( go.getX() - viewX, go.getY() - viewY,
+                go.getWidth(), go.getHeight() );
+        g.fill( rect );
+    }
+}
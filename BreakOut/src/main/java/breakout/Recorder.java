@@ -0,0 +1,169 @@
+package breakout;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records a game so that it can be played again by a Replayer.
+ *  The file holds a snapshot of the game as it started, the level
+ *  pack being played if there is one, then each change of input
+ *  stamped with the tick it was used by.
+ *  Every so many ticks a checksum of the state of the game is
+ *  also written, so the replay can check it is still in step.
+ * The file is memory mapped and only appended to, so recording
+ *  costs a few stores into memory on the game thread.
+ *
+ * File layout, big endian:
+ *  header  MAGIC int, VERSION int, width int, height int,
+ *          snapshot length int, Model snapshot,
+ *          pack length int (0 if none), next level int, pack UTF-8 text
+ *  records tick long, type byte, value long  (END = 0 ends file)
+ * Records are only ever added to the end of the file, so one
+ *  cut short by a crash can still be played up to that point.
+ *  When closed a STOP record holds the checksum of the game as
+ *  it ended, so a replay can check that it ended the same way.
+ */
+public class Recorder implements Input.Hook
+{
+    public static final int  MAGIC   = 0x42524b52;  // "BRKR"
+    public static final int  VERSION = 5;
+
+    // Types of record
+    public static final byte END     = 0;           // Unwritten space
+    public static final byte KEYS    = 1;           // Keys held
+    public static final byte COMMAND = 2;           // Command ordinal
+    public static final byte CHECK   = 3;           // Model.checksum()
+    public static final byte STOP    = 4;           // Checksum at end
+    public static final int  RECORD  = 8 + 1 + 8;   // Bytes in a record
+
+    private static final int CHUNK = 1 << 20;       // File grows by
+
+    private final Model model;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private final int checkEvery;                   // Ticks between checks
+    private int lastKeys = -1;                      // Keys last recorded
+
+    /**
+     * Start recording the game in the model, which should have
+     *  just been created, and set it to record the input
+     * @param model      Model of the game
+     * @param file       File to write
+     * @param checkEvery Ticks between checksums, 0 for none
+     */
+    public Recorder( Model model, Path file, int checkEvery )
+    {
+        this.model = model; this.checkEvery = checkEvery;
+        try
+        {
+            channel = FileChannel.open( file, StandardOpenOption.CREATE,
+                                        StandardOpenOption.READ, StandardOpenOption.WRITE,
+                                        StandardOpenOption.TRUNCATE_EXISTING );
+            buffer = channel.map( FileChannel.MapMode.READ_WRITE, 0, CHUNK );
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException( e );
+        }
+        writeHeader( model );
+        model.getInput().setHook( this );
+    }
+
+    private void writeHeader( Model model )
+    {
+        LevelLoader levels = model.getLevels();
+        byte[] pack = levels == null ? new byte[0]
+                    : levels.getPack().getText().getBytes( StandardCharsets.UTF_8 );
+        int size = model.snapshotSize();
+        room( 20 + size + 8 + pack.length );
+        buffer.putInt( MAGIC ).putInt( VERSION )
+              .putInt( (int) model.getWidth() ).putInt( (int) model.getHeight() )
+              .putInt( size );
+        model.writeSnapshot( buffer );
+        buffer.putInt( pack.length ).putInt( levels == null ? 0 : levels.getNext() )
+              .put( pack );
+    }
+
+    @Override
+    public synchronized void command( Model model, Input.Command c )
+    {
+        write( model.getTick(), COMMAND, c.ordinal() );
+    }
+
+    @Override
+    public synchronized int keys( Model model, int held )
+    {
+        long tick = model.getTick();
+        if ( checkEvery > 0 && tick % checkEvery == 0 )
+            write( tick, CHECK, model.checksum() );
+        if ( held != lastKeys )
+        {
+            write( tick, KEYS, held );
+            lastKeys = held;
+        }
+        return held;
+    }
+
+    private void write( long tick, byte type, long value )
+    {
+        if ( buffer == null ) return;                // Closed
+        room( RECORD );
+        buffer.putLong( tick ).put( type ).putLong( value );
+    }
+
+    /**
+     * Make sure there is room in the mapped file, mapping
+     *  a larger part of it if not
+     */
+    private void room( int bytes )
+    {
+        if ( buffer.remaining() >= bytes ) return;
+        int at = buffer.position();
+        try
+        {
+            buffer = channel.map( FileChannel.MapMode.READ_WRITE, 0,
+                                  buffer.capacity() + Math.max( CHUNK, bytes ) );
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException( e );
+        }
+        buffer.position( at );
+    }
+
+    /**
+     * Stop recording, cutting the file to what has been written
+     */
+    public void close()
+    {
+        long tick, sum;
+        do                                           // Tick and checksum agree
+        {
+            tick = model.getTick();
+            sum  = model.checksum();                 // Not holding our lock,
+        } while ( tick != model.getTick() );         //  as a tick may want it
+        stop( tick, sum );
+    }
+
+    private synchronized void stop( long tick, long sum )
+    {
+        if ( buffer == null ) return;
+        write( tick, STOP, sum );
+        try
+        {
+            buffer.force();
+            channel.truncate( buffer.position() );
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            Debug.error( "Recorder: close failed\n%s", e.getMessage() );
+        }
+        buffer = null;
+    }
+}
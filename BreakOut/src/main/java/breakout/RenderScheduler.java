@@ -0,0 +1,131 @@
+package breakout;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import javax.swing.SwingUtilities;
+
+/**
+ * Sits between the model and the view so that the rate the game
+ *  is simulated at does not set the rate the screen is redrawn at.
+ * The model tells the scheduler of every change, which just notes
+ *  that there is something new to show. A separate thread wakes
+ *  at the frame rate and, if there is, passes the change on to
+ *  the view on the Swing event thread. Only one change is ever
+ *  waiting on the event thread, later ones are coalesced into it.
+ * For active rendering the change can instead be passed on by
+ *  the scheduler's own thread, which then becomes the render thread.
+ */
+public class RenderScheduler implements RenderSink
+{
+    private final RenderSink view;          // Told of changes
+    private final Executor   deliverOn;     // Thread view is told on
+    private final long       frameNanos;    // Time between frames
+    private final AtomicBoolean pending = new AtomicBoolean(); // On event queue
+    private final AtomicReference<Model> changed = new AtomicReference<>(); // Since last frame
+    private volatile boolean running = true;
+
+    /**
+     * @param view         Who to tell, on the event thread
+     * @param framesPerSec Most frames per second to deliver
+     */
+    public RenderScheduler( RenderSink view, int framesPerSec )
+    {
+        this( view, framesPerSec, SwingUtilities::invokeLater );
+    }
+
+    /**
+     * @param view         Who to tell
+     * @param framesPerSec Most frames per second to deliver
+     * @param deliverOn    Runs the delivery, Runnable::run to tell
+     *                     the view on the scheduler's own thread
+     */
+    public RenderScheduler( RenderSink view, int framesPerSec, Executor deliverOn )
+    {
+        this.view       = view;
+        this.frameNanos = 1_000_000_000L / framesPerSec;
+        this.deliverOn  = deliverOn;
+    }
+
+    /**
+     * Refresh rate of the screen, the natural frame rate to use
+     * @param fallback Rate to use when not known
+     * @return Frames per second
+     */
+    public static int displayRate( int fallback )
+    {
+        try
+        {
+            int rate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                           .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+            return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? fallback : rate;
+        }
+        catch (Exception e)      // Headless
+        {
+            return fallback;
+        }
+    }
+
+    /**
+     * Called by the model every tick, only notes the change
+     * @param model Model that has changed
+     */
+    @Override
+    public void modelChanged( Model model )
+    {
+        changed.lazySet( model );
+    }
+
+    /**
+     * Start the thread that delivers frames
+     */
+    public void start()
+    {
+        Thread t = new Thread( this::runAsSeparateThread, "RenderScheduler" );
+        t.setDaemon(true);   // So may die when program exits
+        t.start();
+    }
+
+    /**
+     * Stop delivering frames, the thread will then die
+     */
+    public void stop()
+    {
+        running = false;
+    }
+
+    private void runAsSeparateThread()
+    {
+        long next = System.nanoTime();
+        while ( running )
+        {
+            next += frameNanos;
+            long wait = next - System.nanoTime();
+            if ( wait > 0 )
+                LockSupport.parkNanos( wait );
+            else
+                next = System.nanoTime();        // Behind, do not try to catch up
+
+            if ( changed.get() != null )
+            {
+                if ( pending.compareAndSet( false, true ) )
+                    deliverOn.execute( this::deliver );
+                else
+                    Metrics.droppedFrame();      // Last frame not yet drawn
+            }
+        }
+    }
+
+    /**
+     * Pass the latest change to the view
+     */
+    private void deliver()
+    {
+        pending.set( false );
+        Model model = changed.getAndSet( null );
+        if ( model != null ) view.modelChanged( model );
+    }
+}
@@ -0,0 +1,17 @@
+package breakout;
+
+/**
+ * Somewhere for the model to say that its state has changed.
+ *  Normally the view, but when running headless nothing.
+ */
+public interface RenderSink
+{
+    /** Sink that ignores all changes, used when running headless */
+    RenderSink NONE = model -> { };
+
+    /**
+     * Called by the model after every tick of the game
+     * @param model Model that has changed
+     */
+    void modelChanged( Model model );
+}
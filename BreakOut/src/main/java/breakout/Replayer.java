@@ -0,0 +1,203 @@
+package breakout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Plays again a game written by a Recorder, without a display,
+ *  as fast as the machine can go. The input of each tick comes
+ *  from the file rather than the user, so the game follows the
+ *  same course. The levels after the first come from the level
+ *  pack held in the file. The checksums in the file are compared with the
+ *  state of the model, to find where a replay goes wrong.
+ *  A replay that does not end with the checksum the recording
+ *  ended with is also out of step.
+ *  Usage: java Replayer file [times]
+ */
+public class Replayer implements Input.Hook
+{
+    private final ByteBuffer file;     // Whole of the recording
+    private final int  snapshot;       // Game as it started
+    private final int  start;          // First record
+    private final int  width, height;
+    private final LevelPack pack;      // Levels played, or null
+    private final int  first;          // Next level as recording started
+    private LevelLoader levels;        // Made on first replay
+    private final long end;            // Ticks recorded
+    private boolean stopped;           // Recording was closed
+    private long    last;              // Checksum as recording closed
+
+    private Model model;               // Being played
+
+    private int  keys;                 // Keys held during replay
+    private long expected;             // Checksum expected this tick
+    private boolean checking;          // Have a checksum this tick
+    private long mismatch = -1;        // First tick out of step
+
+    /**
+     * Read a recording
+     * @param path File written by a Recorder
+     * @throws IOException If can not be read
+     */
+    public Replayer( Path path ) throws IOException
+    {
+        try ( FileChannel channel = FileChannel.open( path, StandardOpenOption.READ ) )
+        {
+            file = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size() );
+        }
+        if ( file.getInt() != Recorder.MAGIC || file.getInt() != Recorder.VERSION )
+            throw new IOException( path + ": not a recording this version can play" );
+        width    = file.getInt();
+        height   = file.getInt();
+        int size = file.getInt();
+        snapshot = file.position();
+        file.position( snapshot + size );
+        byte[] text = new byte[ file.getInt() ];
+        first    = file.getInt();
+        file.get( text );
+        try
+        {
+            pack = text.length == 0 ? null
+                 : LevelPack.parse( path + " level pack", new String( text, StandardCharsets.UTF_8 ) );
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new IOException( e.getMessage(), e );
+        }
+        start    = file.position();
+        end   = lastTick();
+    }
+
+    /**
+     * Play the game again from the start
+     * @param model Model to play it in, not running a game loop
+     * @return Ticks played
+     */
+    public long replay( Model model )
+    {
+        this.model = model;
+        if ( pack != null && levels == null ) levels = new LevelLoader( pack, first );
+        model.setLevels( levels );
+        file.position( snapshot );
+        model.readSnapshot( file );                  // Sets the level to play next
+        file.position( start );
+        model.keepLevelStart();                      // For a RESET
+        model.getInput().setHook( this );
+        keys = 0; mismatch = -1;
+        while ( model.getTick() < end )              // Past game over, may reset
+        {
+            checking = false;
+            read( model.getTick() + 1 );
+            model.tick();
+        }
+        model.getInput().setHook( null );
+        if ( mismatch < 0 && stopped && model.checksum() != last )
+            mismatch = model.getTick();              // Ended differently
+        return model.getTick();
+    }
+
+    /**
+     * Read the records for a tick, leaving the file at the
+     *  first record of a later tick
+     */
+    private void read( long tick )
+    {
+        while ( file.remaining() >= Recorder.RECORD )
+        {
+            int at = file.position();
+            long t     = file.getLong();
+            byte type  = file.get();
+            long value = file.getLong();
+            if ( type == Recorder.END || t != tick )
+            {
+                file.position( at );                 // Leave for later
+                return;
+            }
+            switch ( type )
+            {
+                case Recorder.KEYS:    keys = (int) value; break;
+                case Recorder.COMMAND:
+                    model.getInput().command( Input.Command.values()[ (int) value ] );
+                    break;
+                case Recorder.CHECK:   expected = value; checking = true; break;
+            }
+        }
+    }
+
+    /**
+     * Ticks recorded, from the STOP record or if the recording
+     *  was not closed the last record written
+     */
+    private long lastTick()
+    {
+        long tick = 0;
+        for ( int at = start; at + Recorder.RECORD <= file.limit(); at += Recorder.RECORD )
+        {
+            byte type = file.get( at + 8 );
+            if ( type == Recorder.END ) break;
+            tick = file.getLong( at );
+            if ( type == Recorder.STOP )
+            {
+                stopped = true;
+                last    = file.getLong( at + 9 );
+                break;
+            }
+        }
+        return tick;
+    }
+
+    @Override
+    public void command( Model model, Input.Command c )
+    {
+    }
+
+    @Override
+    public int keys( Model model, int held )
+    {
+        if ( checking && mismatch < 0 && model.checksum() != expected )
+            mismatch = model.getTick();
+        return keys;
+    }
+
+    /**
+     * First tick at which the game was not as recorded
+     * @return Tick or -1 if all checksums matched
+     */
+    public long getMismatch()
+    {
+        return mismatch;
+    }
+
+    public static void main( String args[] ) throws IOException
+    {
+        if ( args.length < 1 )
+        {
+            System.err.println( "Usage: java breakout.Replayer file [times]" );
+            System.exit( 2 );
+        }
+        int times = args.length > 1 ? Integer.parseInt( args[1] ) : 1;
+        Debug.set( false );                          // No tracing, too slow
+        Metrics.setEnabled( false );
+
+        Replayer replayer = new Replayer( Path.of( args[0] ) );
+        Model model = new Model( replayer.width, replayer.height );
+        long ticks = 0;
+        long begin = System.nanoTime();
+        for ( int i = 0; i < times; i++ )
+        {
+            ticks += replayer.replay( model );
+            if ( replayer.getMismatch() >= 0 )
+            {
+                System.out.printf( "Replay out of step at tick %d%n", replayer.getMismatch() );
+                System.exit( 1 );
+            }
+        }
+        double secs = (System.nanoTime() - begin) / 1e9;
+        System.out.printf( "Replays = %d Ticks = %d Score = %d Time = %.3fs Ticks/sec = %.0f%n",
+                           times, ticks, model.getScore(), secs, ticks / secs );
+    }
+}
@@ -0,0 +1,35 @@
+package breakout;
+
+/**
+ * Somewhere for the model to send its sound effects.
+ *  Keeps javax.sound out of the model so that the game
+ *  can be run without any audio device.
+ */
+public interface SoundSink
+{
+    /** Sink that ignores all sounds, used when running headless */
+    SoundSink NONE = new SoundSink()
+    {
+        public void playSound( String soundName ) { }
+        public void playMusic( String soundName ) { }
+        public void pauseMusic() { }
+    };
+
+    /**
+     * Play a short sound effect once
+     * @param soundName Name of the sound file
+     */
+    void playSound( String soundName );
+
+    /**
+     * Play background music continuously, or resume it if paused.
+     *  Must return at once.
+     * @param soundName Name of the sound file
+     */
+    void playMusic( String soundName );
+
+    /**
+     * Pause the background music, must return at once
+     */
+    void pauseMusic();
+}
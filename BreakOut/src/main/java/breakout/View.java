@@ -0,0 +1,318 @@
+package breakout;
+
+import javax.swing.JFrame;
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Displays a graphical view of the game of breakout.
+ *  Uses Graphics2D would need to be re-implemented for Android.
+ *  Drawing is done by a Picture, with the background and bricks
+ *  kept in a BrickLayer. Each frame only the areas that have
+ *  changed are drawn and put on screen.
+ *  In active mode each frame is instead drawn onto a Canvas with
+ *  page flipping, by the render thread rather than the event thread.
+ * @author Mike Smith University of Brighton
+ */
+public class View extends JFrame implements RenderSink
+{ 
+    private Controller controller;
+    private volatile Model model;     // Model being shown
+
+    public final int width;  // Size of screen Width
+    public final int height;  // Sizeof screen Height
+
+    private final List<Rectangle>   dirty = new ArrayList<>(); // Changed areas
+    private final Rectangle lastBall = new Rectangle(); // Where drawn last frame
+    private final Rectangle lastBat  = new Rectangle();
+    private boolean fullRedraw = true;  // All of next frame to be drawn
+
+    // Active rendering, null when drawing through repaint()
+    private static final int BUFFERS = 3;   // Pages in BufferStrategy
+    private final Canvas  canvas;           // Drawn on directly
+    private BufferStrategy strategy = null; // Page flipping
+
+    /**
+     * Construct the view of the game, drawn through repaint()
+     * @param width Width of the view pixels
+     * @param height Height of the view pixels
+     */
+    public View(int width, int height)
+    {
+        this( width, height, false );
+    }
+
+    /**
+     * Construct the view of the game
+     * @param width Width of the view pixels
+     * @param height Height of the view pixels
+     * @param active true to draw on a Canvas with a BufferStrategy
+     *               from the thread calling modelChanged, rather
+     *               than through repaint() on the event thread
+     */
+    public View(int width, int height, boolean active)
+    {
+        this.width = width; this.height = height;
+
+        Transaction keys = new Transaction();
+        addKeyListener( keys );                 // Called when key press
+        setDefaultCloseOperation(EXIT_ON_CLOSE);
+        if ( active )
+        {
+            canvas = new Canvas();
+            canvas.setPreferredSize( new Dimension( width, height ) );
+            canvas.setIgnoreRepaint( true );    // We draw it ourselves
+            canvas.addKeyListener( keys );      // Has the focus
+            setIgnoreRepaint( true );
+            add( canvas );
+            pack();                             // Size of window
+            setResizable( false );
+        } else {
+            canvas = null;
+            setSize(width, height);             // Size of window
+        }
+    }
+
+    /**
+     *  Code called to draw the current state of the game
+     *  Draws all of the picture, see render() for drawing
+     *   only the parts that have changed.
+     *  @param g Graphics context to use
+     */
+    public void drawActualPicture( Graphics2D g )
+    {
+        createBuffers();
+        picture.draw( g, model.getFrame() );   // Never changes, so no lock
+    }
+
+    /**
+     * Bring the off screen image up to date with the model,
+     *  only drawing the areas that have changed since the last
+     *  frame, then ask for just those areas to be put on the screen.
+     */
+    private void render()
+    {
+        Frame f = model.getFrame();
+        if ( f == null ) return;
+        long start = Metrics.now();
+        createBuffers();
+        picture.countFrame();
+
+        if ( picture.drawEndOfGame( theAG, f ) )
+        {
+            fullRedraw = true; repaint();
+            Metrics.frameShown( start );
+            return;
+        }
+
+        BrickLayer layer = picture.getLayer();
+        boolean all = picture.update( f, dirty ) || fullRedraw;
+        boolean hudChanged = picture.getHud().update( f );
+        Rectangle ball = bounds( f.getBall() );     // Around all the balls
+        int bw = ball.width, bh = ball.height;
+        for ( int i = 1; i < f.getBallCount(); i++ )
+        {
+            int bx = (int) f.getBallX(i) - picture.getViewX();
+            int by = (int) f.getBallY(i) - picture.getViewY();
+            ball.add( bx, by ); ball.add( bx + bw, by + bh );
+        }
+        Rectangle bat  = bounds( f.getBat() );
+        if ( all )
+        {
+            dirty.clear();
+            dirty.add( new Rectangle( 0, 0, width, height ) );
+            fullRedraw = false;
+        } else {
+            dirty.add( ball.union( lastBall ) );
+            dirty.add( bat.union( lastBat ) );
+            if ( hudChanged ) dirty.add( picture.getHud().getBounds() );
+        }
+        lastBall.setBounds( ball ); lastBat.setBounds( bat );
+
+        for ( Rectangle r : dirty )
+        {
+            theAG.setClip( r );
+            theAG.drawImage( layer.getImage(), 0, 0, null );
+            picture.drawSprites( theAG, f );
+            repaint( r.x, r.y, r.width, r.height );
+        }
+        theAG.setClip( null );
+        dirty.clear();
+        Metrics.frameShown( start );
+    }
+
+    private Rectangle bounds( GameObj go )
+    {
+        return new Rectangle( (int) go.getX() - picture.getViewX(),
+                              (int) go.getY() - picture.getViewY(),
+                              (int) Math.ceil( go.getWidth() ) + 1,
+                              (int) Math.ceil( go.getHeight() ) + 1 );
+    }
+
+    /**
+     * Called on the event thread by the RenderScheduler when
+     *  the state of the model has changed since the last frame
+     * @param model Model to be displayed
+     */
+    @Override
+    public void modelChanged( Model model )
+    {
+        this.model = model;                     // Frames come from
+        //Debug.trace("Update");
+        if ( canvas != null )
+            renderActive();                     // Draw and flip page
+        else
+            render();                           // Re draw what changed
+    }
+
+    /**
+     * Draw the frame straight into the back page of the
+     *  BufferStrategy and show it, redrawing if the contents
+     *  of the pages are lost, for example when the display changes.
+     */
+    private void renderActive()
+    {
+        if ( strategy == null )
+        {
+            if ( ! canvas.isDisplayable() ) return;   // Not shown yet
+            canvas.createBufferStrategy( BUFFERS );
+            strategy = canvas.getBufferStrategy();
+            canvas.requestFocus();                    // For key presses
+        }
+        long start = Metrics.now();
+        do
+        {
+            do
+            {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try
+                {
+                    drawActualPicture( g );
+                }
+                finally
+                {
+                    g.dispose();
+                }
+            } while ( strategy.contentsRestored() );
+            strategy.show();
+        } while ( strategy.contentsLost() );
+        Toolkit.getDefaultToolkit().sync();      // Display now
+        Metrics.frameShown( start );
+    }
+
+    /**
+     * Called by repaint to put the changed area on the screen,
+     *  the clip of g is the area asked for
+     * @param g    Graphics context
+     */
+    @Override
+    public void update( Graphics g )          // Called by repaint
+    {
+        if ( canvas != null ) return;           // Drawn actively
+        drawPicture( (Graphics2D) g );          // Draw Picture
+    }
+
+    /**
+     * Called when window is first shown or damaged
+     * @param g    Graphics context
+     */
+    @Override
+    public void paint( Graphics g )           // When 'Window' is first
+    {                                         //  shown or damaged
+        if ( canvas != null ) return;           // Drawn actively
+        drawPicture( (Graphics2D) g );          // Draw Picture
+    }
+
+    private BufferedImage theAI;              // Alternate Image
+    private Graphics2D    theAG;              // Alternate Graphics
+    private Picture       picture;            // Draws the game
+
+    /**
+     * Create the off screen images, the first time called
+     */
+    private void createBuffers()
+    {
+        if (  theAG == null )
+        {
+            theAI = newImage();
+            theAG = theAI.createGraphics();
+            picture = new Picture( newImage(), Picture.loadBackground() );
+        }
+    }
+
+    /**
+     * An image the size of the view, in the format of the screen
+     *  if shown, so that copying it to the screen is fast
+     */
+    private BufferedImage newImage()
+    {
+        Image image = createImage( width, height );  // null if not shown
+        return image != null ? (BufferedImage) image
+                             : new BufferedImage( width, height, BufferedImage.TYPE_INT_RGB );
+    }
+
+    /**
+     * Double buffer graphics output to avoid flicker
+     *  Copies the off screen image, within the clip of g, to the screen
+     * @param g The graphics context
+     */
+    private void drawPicture( Graphics2D g )   // Double buffer
+    {                                          //  to avoid flicker
+        if ( model == null || model.getFrame() == null ) return; // Race condition
+        if ( theAG == null )
+        {
+            createBuffers();
+            drawActualPicture( theAG );         // Draw Actual Picture
+        }
+        g.drawImage( theAI, 0, 0, this );       //  Display on screen 
+
+    }
+
+    /**
+     * Need to be told where the controller is
+     * @param aPongController The controller used
+     */
+    public void setController(Controller aPongController)
+    {
+        controller = aPongController;
+    }
+
+    /**
+     * Methods Called on a key press 
+     *  calls the controller to process
+     */
+    private class Transaction implements KeyListener  // When character typed
+    {
+        @Override
+        public void keyPressed(KeyEvent e)      // Obey this method
+        {
+            // Make -ve so not confused with normal characters
+            controller.userKeyInteraction( -e.getKeyCode() );
+        }
+
+        @Override
+        public void keyReleased(KeyEvent e)
+        {
+            // Called on key release including specials
+            controller.userKeyReleased( -e.getKeyCode() );
+        }
+
+        @Override
+        public void keyTyped(KeyEvent e)
+        {
+            // Send internal code for key
+            controller.userKeyInteraction( e.getKeyChar() );
+        }
+    }
+}
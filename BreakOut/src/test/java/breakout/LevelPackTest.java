@@ -0,0 +1,75 @@
+package breakout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Reading a level pack
+ */
+public class LevelPackTest
+{
+    @TempDir
+    Path dir;
+
+    private LevelPack load( String text ) throws IOException
+    {
+        Path file = dir.resolve( "levels.txt" );
+        Files.writeString( file, text );
+        return LevelPack.load( file );
+    }
+
+    @Test
+    public void readsLevels() throws IOException
+    {
+        LevelPack pack = load( "board 800 900\n" +
+                               "level One\nbrick 5 100 50 30 2 GRAY\n" +
+                               "# Comment\n\n" +
+                               "level Two\nbrick 5 100 50 30 1 BLUE\nbrick 65 100 50 30 3 RED\n" );
+        assertEquals( 2, pack.size() );
+        assertEquals( 800, pack.getWidth() );
+        assertEquals( "Two", pack.getName( 1 ) );
+        assertEquals( 2, pack.bricks( 1 ).countAlive() );
+    }
+
+    @Test
+    public void badLineInLaterLevelFoundOnLoad()
+    {
+        IllegalArgumentException e = assertThrows( IllegalArgumentException.class, () ->
+            load( "level One\nbrick 5 100 50 30 2 GRAY\n" +
+                  "level Two\nbrick 5 100 50 30 2 PURPLE\n" ) );
+        assertTrue( e.getMessage().contains( ":4:" ), e.getMessage() );
+    }
+
+    @Test
+    public void hitsOutOfRangeRefused()
+    {
+        for ( String hits : new String[] { "0", "-1", "128", "256", "300" } )
+        {
+            IllegalArgumentException e = assertThrows( IllegalArgumentException.class, () ->
+                load( "level One\nbrick 5 100 50 30 2 GRAY\nbrick 65 100 50 30 " + hits + " GRAY\n" ) );
+            assertTrue( e.getMessage().contains( ":3:" ), e.getMessage() );
+        }
+    }
+
+    @Test
+    public void levelWithNoBricksRefused()
+    {
+        String[][] packs = {          // Pack, line of the empty level
+            { "level One\nbrick 5 100 50 30 1 GRAY\nlevel Empty\n# None\n" +
+              "level Three\nbrick 5 100 50 30 1 GRAY\n", ":3:" },
+            { "level One\nbrick 5 100 50 30 1 GRAY\n\nlevel Empty\n", ":4:" } };
+        for ( String[] pack : packs )
+        {
+            IllegalArgumentException e = assertThrows( IllegalArgumentException.class,
+                                                       () -> load( pack[0] ) );
+            assertTrue( e.getMessage().contains( pack[1] ), e.getMessage() );
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package breakout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Record a game, play it again and check that it went the same way
+ */
+public class ReplayTest
+{
+    @TempDir
+    Path dir;
+
+    /**
+     * Move the bat left, then right, then leave it, in turn
+     */
+    private static void play( Model model, int ticks )
+    {
+        Input in = model.getInput();
+        for ( int i = 0; i < ticks && ! model.isOver(); i++ )
+        {
+            int phase = (int) (model.getTick() / 40 % 3);
+            in.keyUp( Input.LEFT | Input.RIGHT );
+            if ( phase == 0 ) in.keyDown( Input.LEFT );
+            if ( phase == 1 ) in.keyDown( Input.RIGHT );
+            model.tick();
+        }
+    }
+
+    private static Model newGame()
+    {
+        Model model = new Model( Main.W, Main.H );
+        model.setSeed( 1 );
+        model.createGameObjects();
+        return model;
+    }
+
+    @Test
+    public void replayFollowsRecording() throws IOException
+    {
+        Path file = dir.resolve( "game.rec" );
+        Model model = newGame();
+        Recorder recorder = new Recorder( model, file, 100 );
+        play( model, 1000 );
+        recorder.close();
+
+        Replayer replayer = new Replayer( file );
+        Model again = new Model( Main.W, Main.H );
+        assertEquals( model.getTick(), replayer.replay( again ) );
+        assertEquals( -1, replayer.getMismatch() );
+        assertEquals( model.checksum(), again.checksum() );
+        assertEquals( model.getScore(), again.getScore() );
+    }
+
+    @Test
+    public void resetIsReplayed() throws IOException
+    {
+        Path file = dir.resolve( "game.rec" );
+        Model model = newGame();
+        Recorder recorder = new Recorder( model, file, 100 );
+        play( model, 600 );
+        model.getInput().command( Input.Command.RESET );
+        play( model, 400 );
+        recorder.close();
+        assertEquals( 1000, model.getTick() );          // Counts on past the reset
+
+        Replayer replayer = new Replayer( file );
+        Model again = new Model( Main.W, Main.H );
+        replayer.replay( again );
+        assertEquals( -1, replayer.getMismatch() );
+        assertEquals( model.getBat().getX(), again.getBat().getX() );
+        assertEquals( model.checksum(), again.checksum() );
+    }
+
+    @Test
+    public void levelsAreReplayed() throws IOException
+    {
+        StringBuilder text = new StringBuilder();
+        for ( String level : new String[] { "One", "Two" } )
+        {
+            text.append( "level " ).append( level ).append( '\n' );
+            for ( int x = 0; x < Main.W; x += 50 )
+                text.append( "brick " ).append( x ).append( " 100 50 30 1 GRAY\n" );
+        }
+        LevelLoader loader = new LevelLoader( LevelPack.parse( "test", text.toString() ) );
+        Model model = new Model( Main.W, Main.H );
+        model.setSeed( 1 );
+        model.createGameObjects( loader.next() );
+        model.setLevels( loader );
+
+        Path file = dir.resolve( "game.rec" );
+        Recorder recorder = new Recorder( model, file, 100 );
+        model.getInput().command( Input.Command.AUTOPILOT );
+        for ( int i = 0; i < 50_000 && ! model.isOver(); i++ ) model.tick();
+        recorder.close();
+        assertEquals( 0, model.getBricksLeft() );       // Both levels cleared
+        assertEquals( 2 * 12 * 50, model.getScore() );
+
+        Replayer replayer = new Replayer( file );
+        Model again = new Model( Main.W, Main.H );
+        for ( int times = 0; times < 2; times++ )      // Same model each time
+        {
+            replayer.replay( again );
+            assertEquals( -1, replayer.getMismatch() );
+            assertEquals( model.getScore(), again.getScore() );
+            assertEquals( model.checksum(), again.checksum() );
+        }
+    }
+
+    @Test
+    public void changedInputIsFound() throws IOException
+    {
+        Path file = dir.resolve( "game.rec" );
+        Model model = newGame();
+        Recorder recorder = new Recorder( model, file, 0 );  // Only the end checked
+        play( model, 1000 );
+        recorder.close();
+
+        clearFirstKeys( file );
+        Replayer replayer = new Replayer( file );
+        replayer.replay( new Model( Main.W, Main.H ) );
+        assertTrue( replayer.getMismatch() >= 0, "changed replay reported as in step" );
+    }
+
+    /**
+     * Change the first record of keys held to none held
+     */
+    private static void clearFirstKeys( Path file ) throws IOException
+    {
+        try ( FileChannel channel = FileChannel.open( file, StandardOpenOption.READ,
+                                                      StandardOpenOption.WRITE ) )
+        {
+            MappedByteBuffer b = channel.map( FileChannel.MapMode.READ_WRITE, 0, channel.size() );
+            int pack = 20 + b.getInt( 16 );             // After the snapshot
+            for ( int at = pack + 8 + b.getInt( pack ); at + Recorder.RECORD <= b.limit();
+                  at += Recorder.RECORD )
+            {
+                if ( b.get( at + 8 ) == Recorder.KEYS && b.getLong( at + 9 ) != 0 )
+                {
+                    b.putLong( at + 9, 0 );
+                    b.force();
+                    return;
+                }
+            }
+        }
+        throw new AssertionError( "no keys recorded" );
+    }
+}
@@ -0,0 +1,83 @@
+package breakout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Save and restore the state of a game
+ */
+public class SnapshotTest
+{
+    private static Model playedGame( int ticks )
+    {
+        Model model = new Model( Main.W, Main.H );
+        model.setSeed( 1 );
+        model.createGameObjects();
+        for ( int i = 0; i < ticks; i++ ) model.tick();
+        return model;
+    }
+
+    @Test
+    public void restoreGivesSameGame()
+    {
+        Model model = playedGame( 500 );
+        ByteBuffer b = ByteBuffer.allocate( model.snapshotSize() );
+        model.writeSnapshot( b );
+        b.flip();
+
+        Model other = new Model( Main.W, Main.H );
+        other.readSnapshot( b );
+        assertEquals( model.checksum(), other.checksum() );
+        assertEquals( 0, b.remaining() );
+    }
+
+    @Test
+    public void cutShortLeavesGameAsItWas()
+    {
+        Model model = playedGame( 500 );
+        ByteBuffer b = ByteBuffer.allocate( model.snapshotSize() );
+        model.writeSnapshot( b );
+
+        Model other = playedGame( 100 );
+        long before = other.checksum();
+        for ( int cut : new int[] { 10, 40, b.capacity() - 20, b.capacity() - 1 } )
+        {
+            ByteBuffer part = ByteBuffer.wrap( b.array(), 0, cut );
+            assertThrows( IllegalArgumentException.class, () -> other.readSnapshot( part ) );
+            assertEquals( before, other.checksum() );
+        }
+    }
+
+    @Test
+    public void restoreGoesBackToItsLevel()
+    {
+        StringBuilder text = new StringBuilder();
+        for ( int level = 1; level <= 3; level++ )   // 12, 6 then 4 bricks
+        {
+            text.append( "level " ).append( level ).append( '\n' );
+            for ( int x = 0; x < Main.W; x += 50 * level )
+                text.append( "brick " ).append( x ).append( " 100 50 30 1 GRAY\n" );
+        }
+        LevelLoader loader = new LevelLoader( LevelPack.parse( "test", text.toString() ) );
+        Model model = new Model( Main.W, Main.H );
+        model.createGameObjects( loader.next() );
+        model.setLevels( loader );
+        ByteBuffer b = ByteBuffer.allocate( model.snapshotSize() );
+        model.writeSnapshot( b );                    // At level 1
+
+        model.setAutopilot( true );
+        for ( int i = 0; i < 50_000 && model.getBricks().size() != 4; i++ ) model.tick();
+        assertEquals( 4, model.getBricks().size() ); // Reached level 3
+
+        b.flip();
+        model.readSnapshot( b );
+        assertEquals( 12, model.getBricks().size() );
+        assertEquals( 1, loader.getNext() );
+        model.setAutopilot( true );
+        for ( int i = 0; i < 50_000 && model.getBricks().size() == 12; i++ ) model.tick();
+        assertEquals( 6, model.getBricks().size() ); // Level 2 next, not past the end
+    }
+}
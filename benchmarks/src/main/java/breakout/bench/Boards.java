@@ -0,0 +1,33 @@
+package breakout.bench;
+
+import breakout.BrickField;
+import breakout.Colour;
+
+/**
+ * Boards of bricks of any size for the benchmarks
+ */
+final class Boards
+{
+    static final int W = 600;             // Size of board
+    static final int H = 800;
+
+    private Boards() { }
+
+    /**
+     * Fill the top part of the board with a grid of bricks,
+     *  smaller bricks the more there are
+     * @param count Number of bricks wanted
+     * @return New field of about count bricks
+     */
+    static BrickField bricks( int count )
+    {
+        int   cols = (int) Math.ceil( Math.sqrt( count * 1.5 ) );
+        int   rows = (count + cols - 1) / cols;
+        float w    = (W - 12f) / cols;
+        float h    = (H / 2f - 100) / rows;
+        BrickField f = new BrickField( count );
+        for ( int i = 0; i < count; i++ )
+            f.add( 6 + (i % cols) * w, 100 + (i / cols) * h, w - 1, h - 1, 2, Colour.GRAY );
+        return f;
+    }
+}
@@ -0,0 +1,57 @@
+package breakout.bench;
+
+import breakout.Colour;
+import breakout.Contact;
+import breakout.GameObj;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one collision test between the ball and a brick,
+ *  both the overlap test and the swept test.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameObjBench
+{
+    private final GameObj ball  = new GameObj( 100, 100, 30, 30, Colour.RED );
+    private final GameObj hit   = new GameObj( 110, 120, 50, 30, Colour.GRAY );
+    private final GameObj miss  = new GameObj( 300, 300, 50, 30, Colour.GRAY );
+    private final Contact contact = new Contact();
+
+    @Benchmark
+    public boolean hitByHit()
+    {
+        return hit.hitBy( ball );
+    }
+
+    @Benchmark
+    public boolean hitByMiss()
+    {
+        return miss.hitBy( ball );
+    }
+
+    @Benchmark
+    public boolean sweepHit()
+    {
+        return ball.sweep( hit, 5, 5, contact );
+    }
+
+    @Benchmark
+    public boolean sweepMiss()
+    {
+        return ball.sweep( miss, 5, 5, contact );
+    }
+}
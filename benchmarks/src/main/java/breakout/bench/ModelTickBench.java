@@ -0,0 +1,51 @@
+package breakout.bench;
+
+import breakout.Debug;
+import breakout.Model;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one tick of a headless model, for different numbers
+ *  of bricks. When a game ends it is reset, which rebuilds
+ *  nothing, so only ticks are timed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelTickBench
+{
+    @Param({ "60", "1000", "10000", "100000" })
+    public int bricks;
+
+    private Model model;
+
+    @Setup
+    public void setUp()
+    {
+        Debug.set( false );
+        model = new Model( Boards.W, Boards.H );
+        model.createGameObjects( Boards.bricks( bricks ) );
+    }
+
+    @Benchmark
+    public Model tick()
+    {
+        if ( model.isOver() ) model.reset();    // Same objects, no rebuild
+        model.tick();
+        return model;
+    }
+}
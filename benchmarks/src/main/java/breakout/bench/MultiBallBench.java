@@ -0,0 +1,58 @@
+package breakout.bench;
+
+import breakout.BrickField;
+import breakout.Debug;
+import breakout.Model;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one tick of a headless model with many balls in play,
+ *  above 256 balls the balls are moved on several cores.
+ *  When a game ends it is reset and the balls added again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiBallBench
+{
+    @Param({ "1", "256", "1024", "4096" })
+    public int balls;
+
+    private Model model;
+
+    @Setup
+    public void setUp()
+    {
+        Debug.set( false );
+        BrickField board = Boards.bricks( 10000 );
+        model = new Model( Boards.W, Boards.H );
+        model.createGameObjects( board );
+        model.addBalls( balls - 1 );
+    }
+
+    @Benchmark
+    public Model tick()
+    {
+        if ( model.isOver() )
+        {
+            model.reset();
+            model.addBalls( balls - 1 );
+        }
+        model.tick();
+        return model;
+    }
+}
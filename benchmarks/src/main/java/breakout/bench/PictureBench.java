@@ -0,0 +1,70 @@
+package breakout.bench;
+
+import breakout.Debug;
+import breakout.Model;
+import breakout.Picture;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of drawing a whole frame into an off screen image, as
+ *  View.drawActualPicture does. Uses the Picture directly since
+ *  a View is a window, which can not be made without a display.
+ * A tick is run between frames so the ball moves and bricks change.
+ *  When a game ends it is reset, which rebuilds nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PictureBench
+{
+    @Param({ "60", "1000", "10000" })
+    public int bricks;
+
+    private Model      model;
+    private Picture    picture;
+    private Graphics2D g;
+
+    @Setup
+    public void setUp()
+    {
+        Debug.set( false );
+        model = new Model( Boards.W, Boards.H );
+        model.setRenderSink( m -> { } );       // So frames are made
+        model.createGameObjects( Boards.bricks( bricks ) );
+        BufferedImage layer = new BufferedImage( Boards.W, Boards.H, BufferedImage.TYPE_INT_RGB );
+        BufferedImage image = new BufferedImage( Boards.W, Boards.H, BufferedImage.TYPE_INT_RGB );
+        picture = new Picture( layer, null );
+        g = image.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        g.dispose();
+    }
+
+    @Benchmark
+    public void drawFrame()
+    {
+        if ( model.isOver() ) model.reset();    // Same objects, no rebuild
+        model.tick();
+        picture.draw( g, model.getFrame() );
+    }
+}
@@ -0,0 +1,61 @@
+package breakout.bench;
+
+import breakout.ClipSound;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost to the game thread of asking for a sound to be played.
+ *  Run from the BreakOut directory so that the sound files are found.
+ *  Needs an audio device, without one no sound is loaded and there
+ *  is nothing to measure. The queue is emptied every so often, so
+ *  each request is queued rather than dropped as the queue is full.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SoundBench
+{
+    private static final int DRAIN_EVERY = 16;   // Less than the queue holds
+
+    private ClipSound sound;
+    private int queued = 0;                     // Since queue emptied
+
+    @Setup
+    public void setUp()
+    {
+        sound = new ClipSound( "BrickHit.wav" );
+        if ( ! sound.hasSound( "BrickHit.wav" ) )
+            throw new IllegalStateException( "BrickHit.wav not loaded, no audio device?" );
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        sound.close();
+    }
+
+    @Benchmark
+    public void playSound()
+    {
+        sound.playSound( "BrickHit.wav" );
+        if ( ++queued == DRAIN_EVERY )
+        {
+            queued = 0;
+            sound.clearQueued();
+        }
+    }
+}